@@ -0,0 +1,33 @@
+package br.com.medeiros.api.todo.benchmarks;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+// a response body the converters can write into again and again without a new buffer per op
+final class BufferOutputMessage implements HttpOutputMessage {
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256 * 1024);
+    private final HttpHeaders headers = new HttpHeaders();
+
+    void reset() {
+        body.reset();
+        headers.clear();
+    }
+
+    int size() {
+        return body.size();
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
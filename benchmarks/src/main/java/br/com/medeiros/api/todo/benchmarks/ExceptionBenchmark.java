@@ -0,0 +1,78 @@
+package br.com.medeiros.api.todo.benchmarks;
+
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.CustomException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NotFoundId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+// A 404 thrown from depth frames below the handler and caught there: the shared NotFoundId,
+// a new stackless one, and one that fills in its stack trace as CustomException used to.
+// depth stands in for the controller, proxy and filter frames of a real request.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionBenchmark {
+
+    @Param({"10", "100"})
+    public int depth;
+
+    @Benchmark
+    public HttpStatus sharedInstance() {
+        try {
+            return descend(depth, 0);
+        } catch (CustomException e) {
+            return e.getStatus();
+        }
+    }
+
+    @Benchmark
+    public HttpStatus newStackless() {
+        try {
+            return descend(depth, 1);
+        } catch (CustomException e) {
+            return e.getStatus();
+        }
+    }
+
+    @Benchmark
+    public HttpStatus filledStackTrace() {
+        try {
+            return descend(depth, 2);
+        } catch (FilledNotFound e) {
+            return e.status;
+        }
+    }
+
+    private static HttpStatus descend(int depth, int kind) {
+        if (depth == 0) {
+            throw switch (kind) {
+                case 0 -> NotFoundId.INSTANCE;
+                case 1 -> new NotFoundId();
+                default -> new FilledNotFound();
+            };
+        }
+        return descend(depth - 1, kind);
+    }
+
+    private static final class FilledNotFound extends RuntimeException {
+        private final HttpStatus status = HttpStatus.NOT_FOUND;
+
+        FilledNotFound() {
+            super("ID does not exists");
+        }
+    }
+}
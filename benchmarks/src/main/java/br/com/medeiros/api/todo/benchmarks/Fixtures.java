@@ -0,0 +1,44 @@
+package br.com.medeiros.api.todo.benchmarks;
+
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class Fixtures {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private Fixtures() {
+    }
+
+    static UserEntity user() {
+        return new UserEntity(1L, "user_name", "user_pass", Role.USER);
+    }
+
+    // a page as the repository returns it
+    static List<TodoEntity> todos(int count) {
+        var user = user();
+        var todos = new ArrayList<TodoEntity>(count);
+        for (long id = 1; id <= count; id++) {
+            var todo = new TodoEntity(id, "todo " + id, "description of todo " + id, user);
+            todo.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(id));
+            todos.add(todo);
+        }
+        return todos;
+    }
+
+    // links are built from the current request, bind one to the calling thread
+    static void bindRequest() {
+        var request = new MockHttpServletRequest("GET", "/api/todos/v1");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.medeiros.api.todo.benchmarks;
+
+import br.com.medeiros.api.todo.v1.jwt.JwtAuthenticationFilter;
+import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
+import br.com.medeiros.api.todo.v1.security.TokenRevocations;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// The filter every protected request passes: bearer check, principal from the claims and the
+// revocation lookup. The filter reads no repository since the claims carry the user, so
+// there is nothing to stub beyond the chain.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"bearer", "anonymous"})
+    public String caller;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private Authentication authentication;
+    private final FilterChain chain = (request, response) ->
+            authentication = SecurityContextHolder.getContext().getAuthentication();
+
+    @Setup
+    public void setUp() {
+        var jwtUtil = new JwtUtil(Fixtures.SECRET, 60, 10_000);
+        filter = new JwtAuthenticationFilter(jwtUtil, new TokenRevocations(60, 100_000), new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/todos/v1");
+        if (caller.equals("bearer")) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateToken(Fixtures.user()));
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, chain);
+            return authentication;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
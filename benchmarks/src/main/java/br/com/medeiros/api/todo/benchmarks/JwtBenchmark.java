@@ -0,0 +1,63 @@
+package br.com.medeiros.api.todo.benchmarks;
+
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Issuing a token at login/register and checking one on every request. verify is the
+// cached path every request after the first takes; parseSignedToken is what a cache miss
+// costs, the HMAC check and claims parsing JwtUtil does once per token.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private UserEntity user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(Fixtures.SECRET, 60, 10_000);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Fixtures.SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        user = Fixtures.user();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Claims parseSignedToken() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
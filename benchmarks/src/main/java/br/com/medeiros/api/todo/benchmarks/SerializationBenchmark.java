@@ -0,0 +1,123 @@
+package br.com.medeiros.api.todo.benchmarks;
+
+import br.com.medeiros.api.todo.v1.config.WebConfig;
+import br.com.medeiros.api.todo.v1.controllers.todo.TodoLinks;
+import br.com.medeiros.api.todo.v1.data.ResponseDto;
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.hateoas.HypermediaAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// What GET /api/todos/v1 does after the query: map each entity with ResponseDto.fromEntity,
+// add the self link and write the page with the converter MVC would pick for the Accept
+// header. The converters come from the same auto-configuration and WebConfig as the app,
+// so HAL, the todoFields filter and the YAML/CBOR/Smile converters are all in place.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final Type LIST_OF_RESPONSES = ResolvableType.forClassWithGenerics(List.class, ResponseDto.class).getType();
+
+    @Param({"1", "50", "1000"})
+    public int todos;
+
+    @Param({"application/json", "application/xml", "application/x-yaml", "application/cbor", "application/x-jackson-smile"})
+    public String accept;
+
+    private AnnotationConfigServletWebApplicationContext context;
+    private GenericHttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private List<TodoEntity> page;
+    private TodoLinks todoLinks;
+    private final BufferOutputMessage output = new BufferOutputMessage();
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, HypermediaAutoConfiguration.class})
+    @Import({WebConfig.class, TodoLinks.class})
+    static class Converters {
+    }
+
+    // the size of the written body, reported next to the score
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Body {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new AnnotationConfigServletWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(Converters.class);
+        context.refresh();
+
+        mediaType = MediaType.parseMediaType(accept);
+        converter = context.getBean(RequestMappingHandlerAdapter.class).getMessageConverters().stream()
+                .filter(candidate -> candidate instanceof GenericHttpMessageConverter<?> generic
+                        && generic.canWrite(LIST_OF_RESPONSES, ArrayList.class, mediaType))
+                .map(candidate -> (GenericHttpMessageConverter<Object>) candidate)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No converter writes " + accept));
+
+        page = Fixtures.todos(todos);
+        todoLinks = context.getBean(TodoLinks.class);
+        Fixtures.bindRequest();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int writePage(Body body) throws IOException {
+        var links = todoLinks.forCurrentRequest();
+        var responses = new ArrayList<ResponseDto>(page.size());
+        for (TodoEntity todo : page) {
+            var response = ResponseDto.fromEntity(todo);
+            response.add(links.self(todo.getId()));
+            responses.add(response);
+        }
+
+        output.reset();
+        converter.write(responses, LIST_OF_RESPONSES, mediaType, output);
+        body.bytes = output.size();
+        return output.size();
+    }
+}
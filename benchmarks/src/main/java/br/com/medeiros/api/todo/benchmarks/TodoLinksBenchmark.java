@@ -0,0 +1,80 @@
+package br.com.medeiros.api.todo.benchmarks;
+
+import br.com.medeiros.api.todo.v1.controllers.todo.TodoFindById;
+import br.com.medeiros.api.todo.v1.controllers.todo.TodoLinks;
+import br.com.medeiros.api.todo.v1.data.ResponseDto;
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// The controllers' mapping step for a page: ResponseDto.fromEntity alone, with the self link
+// from the templates TodoLinks resolves at startup, and with linkTo(methodOn(...)), which
+// proxies the controller and parses its mapping for every link
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoLinksBenchmark {
+
+    @Param({"1", "1000"})
+    public int todos;
+
+    private List<TodoEntity> page;
+    private final TodoLinks todoLinks = new TodoLinks();
+
+    @Setup
+    public void setUp() {
+        page = Fixtures.todos(todos);
+        Fixtures.bindRequest();
+    }
+
+    @Benchmark
+    public List<ResponseDto> fromEntity() {
+        var responses = new ArrayList<ResponseDto>(page.size());
+        for (TodoEntity todo : page) {
+            responses.add(ResponseDto.fromEntity(todo));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ResponseDto> templateLinks() {
+        var links = todoLinks.forCurrentRequest();
+        var responses = new ArrayList<ResponseDto>(page.size());
+        for (TodoEntity todo : page) {
+            var response = ResponseDto.fromEntity(todo);
+            response.add(links.self(todo.getId()));
+            responses.add(response);
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ResponseDto> linkToMethodOn() {
+        var responses = new ArrayList<ResponseDto>(page.size());
+        for (TodoEntity todo : page) {
+            var response = ResponseDto.fromEntity(todo);
+            response.add(linkTo(methodOn(TodoFindById.class).findById(todo.getId(), null, null, null)).withSelfRel());
+            responses.add(response);
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.medeiros.api.todo.v1.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.DatabaseMetaData;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class FullTextIndexConfig {
+
+    public static final String INDEX_NAME = "ft_todos_name_description";
+
+    private static final Logger log = LoggerFactory.getLogger(FullTextIndexConfig.class);
+
+    // JPA cannot declare FULLTEXT indexes, so the search index is created here once the schema exists
+    @Bean
+    public ApplicationRunner fullTextIndexInitializer(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        return args -> {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            if (!"MySQL".equalsIgnoreCase(product)) {
+                log.info("Skipping {} on {}, full-text search needs MySQL", INDEX_NAME, product);
+                return;
+            }
+
+            Integer existing = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(*) FROM information_schema.statistics
+                    WHERE table_schema = DATABASE() AND table_name = 'todos' AND index_name = ?""",
+                    Integer.class, INDEX_NAME);
+
+            if (existing == null || existing == 0) {
+                log.info("Creating full-text index {}", INDEX_NAME);
+                jdbcTemplate.execute("CREATE FULLTEXT INDEX " + INDEX_NAME + " ON todos (name, description)");
+            }
+        };
+    }
+}
@@ -0,0 +1,269 @@
+package br.com.medeiros.api.todo.v1.config;
+
+import br.com.medeiros.api.todo.v1.util.ETags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+// Tomcat never compresses a response with a strong ETag, since the tag would then name two different
+// bodies. Those responses are compressed here instead, and their tag gets a -gzip suffix (the way
+// mod_deflate does it), so each encoding keeps a strong validator If-Match can still use. Below
+// min-response-size the body goes out as is, which the same body always does, so the tag still
+// names one set of bytes. Responses without a strong ETag are left to Tomcat.
+public class GzipETagFilter extends OncePerRequestFilter {
+
+    private final int minResponseSize;
+    private final List<MimeType> mimeTypes;
+
+    public GzipETagFilter(int minResponseSize, List<MimeType> mimeTypes) {
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HttpServletResponse target = response;
+        if (!isAsyncDispatch(request) && acceptsGzip(request)) {
+            target = new GzipETagResponse(response);
+        }
+
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            // an async request writes on its dispatch, which comes through here again
+            if (!isAsyncStarted(request)) {
+                var gzip = WebUtils.getNativeResponse(target, GzipETagResponse.class);
+                if (gzip != null) {
+                    gzip.finish();
+                }
+            }
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        var acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            var parts = coding.split(";");
+            if (parts[0].strip().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+
+        try {
+            var mimeType = MimeTypeUtils.parseMimeType(contentType);
+            return mimeTypes.stream().anyMatch(mimeType::equalsTypeAndSubtype);
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    private final class GzipETagResponse extends HttpServletResponseWrapper {
+
+        private boolean tagged;
+        private GzipStream stream;
+        private PrintWriter writer;
+
+        GzipETagResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, tag(name, value));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, tag(name, value));
+        }
+
+        // 304s go through here as well, so they carry the same tag the 200 did
+        private String tag(String name, String value) {
+            if (!HttpHeaders.ETAG.equalsIgnoreCase(name) || value == null || !value.startsWith("\"")) {
+                return value;
+            }
+            if (!tagged) {
+                tagged = true;
+                super.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return ETags.gzip(value);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (!tagged || !compressible(getContentType())) {
+                return super.getOutputStream();
+            }
+            if (stream == null) {
+                stream = new GzipStream((HttpServletResponse) getResponse());
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (!tagged || !compressible(getContentType())) {
+                return super.getWriter();
+            }
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // the length of the compressed body is only known at the end
+        @Override
+        public void setContentLength(int length) {
+            if (stream == null) {
+                super.setContentLength(length);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            if (stream == null) {
+                super.setContentLengthLong(length);
+            }
+        }
+
+        // committing now would send the headers before it is known whether the body is compressed
+        @Override
+        public void flushBuffer() throws IOException {
+            if (stream == null || stream.decided()) {
+                super.flushBuffer();
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.finish();
+            }
+        }
+    }
+
+    // holds the body until it reaches min-response-size, then compresses from there on
+    private final class GzipStream extends ServletOutputStream {
+
+        private final HttpServletResponse response;
+        private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private GZIPOutputStream gzip;
+        private boolean finished;
+
+        GzipStream(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        boolean decided() {
+            return pending == null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (finished) {
+                throw new IOException("Response already finished");
+            }
+            if (gzip != null) {
+                gzip.write(bytes, offset, length);
+                return;
+            }
+
+            pending.write(bytes, offset, length);
+            if (pending.size() >= minResponseSize) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.setContentLengthLong(-1);
+                gzip = new GZIPOutputStream(response.getOutputStream(), 8192);
+                pending.writeTo(gzip);
+                pending = null;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (gzip != null) {
+                gzip.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            if (gzip != null) {
+                gzip.finish();
+            } else {
+                response.setContentLength(pending.size());
+                pending.writeTo(response.getOutputStream());
+                pending = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        // writes end up on the container's stream, so it decides when more can be written
+        @Override
+        public boolean isReady() {
+            try {
+                return response.getOutputStream().isReady();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                response.getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
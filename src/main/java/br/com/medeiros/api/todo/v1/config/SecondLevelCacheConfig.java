@@ -0,0 +1,73 @@
+package br.com.medeiros.api.todo.v1.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String TODOS_REGION = "todos";
+    public static final String USERS_REGION = "users";
+
+    @Value("${app.cache.enabled:true}")
+    private boolean enabled;
+
+    // Caffeine evicts by size (W-TinyLFU) and by time, so every region stays bounded
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.todos.max-size:10000}") long todosMaxSize,
+            @Value("${app.cache.todos.ttl:10m}") Duration todosTtl,
+            @Value("${app.cache.users.max-size:1000}") long usersMaxSize,
+            @Value("${app.cache.users.ttl:10m}") Duration usersTtl,
+            MeterRegistry meterRegistry) {
+
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        createRegion(cacheManager, TODOS_REGION, todosMaxSize, todosTtl, meterRegistry);
+        createRegion(cacheManager, USERS_REGION, usersMaxSize, usersTtl, meterRegistry);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl,
+                                     MeterRegistry meterRegistry) {
+        Cache<Object, Object> cache = cacheManager.getCache(name);
+
+        if (cache == null) {
+            var configuration = new CaffeineConfiguration<Object, Object>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(true);
+
+            cache = cacheManager.createCache(name, configuration);
+        }
+
+        JCacheMetrics.monitor(meterRegistry, cache, Tags.of("region", name));
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.medeiros.api.todo.v1.config;
+
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// only active with spring.threads.virtual.enabled, where every request gets a fresh thread
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    // Jackson keeps its read/write buffers in a ThreadLocal by default, which a thread that
+    // lives for one request never gets back; share one pool across threads instead
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedBufferRecyclerCustomizer() {
+        return builder -> builder.postConfigurer(mapper ->
+                mapper.getFactory().setRecyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()));
+    }
+}
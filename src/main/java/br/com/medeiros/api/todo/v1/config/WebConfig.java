@@ -1,27 +1,77 @@
 package br.com.medeiros.api.todo.v1.config;
 
+import br.com.medeiros.api.todo.v1.controllers.todo.TodoFieldsInterceptor;
+import br.com.medeiros.api.todo.v1.data.TodoFields;
+import br.com.medeiros.api.todo.v1.serialization.converter.CborJackson2HttpMessageConverter;
+import br.com.medeiros.api.todo.v1.serialization.converter.SmileJackson2HttpMessageConverter;
 import br.com.medeiros.api.todo.v1.serialization.converter.YamlJackson2HttpMessageConverter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.Arrays;
 import java.util.List;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
     private static final MediaType MEDIA_TYPE_APPLICATION_YAML = MediaType.valueOf("application/x-yaml");
+    private static final MediaType MEDIA_TYPE_APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+    private static final MediaType MEDIA_TYPE_APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
 
     @Value("${cors.originPatterns:default}")
     private String corsOriginPatterns = "";
 
+    // Boot builds both the JSON and the XML mapper from this builder
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer todoFieldsFilterCustomizer() {
+        return builder -> builder.filters(TodoFields.DEFAULT_FILTERS);
+    }
+
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring registers its own binary converters when the dataformats are on the classpath,
+        // replace them so CBOR and Smile serialize like the text formats do
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
         converters.add(new YamlJackson2HttpMessageConverter());
+        converters.add(new CborJackson2HttpMessageConverter());
+        converters.add(new SmileJackson2HttpMessageConverter());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "server.compression", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<GzipETagFilter> gzipETagFilter(ServerProperties serverProperties) {
+        var compression = serverProperties.getCompression();
+        var mimeTypes = Arrays.stream(compression.getMimeTypes()).map(MimeTypeUtils::parseMimeType).toList();
+
+        var registration = new FilterRegistrationBean<>(
+                new GzipETagFilter((int) compression.getMinResponseSize().toBytes(), mimeTypes));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TodoFieldsInterceptor())
+                .addPathPatterns("/api/todos/v1/**")
+                .excludePathPatterns("/api/todos/v1/auth/**");
     }
 
     @Override
@@ -52,6 +102,8 @@ public class WebConfig implements WebMvcConfigurer {
                 .defaultContentType(MediaType.APPLICATION_JSON)
                 .mediaType("json", MediaType.APPLICATION_JSON)
                 .mediaType("xml", MediaType.APPLICATION_XML)
-                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YAML);
+                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YAML)
+                .mediaType("cbor", MEDIA_TYPE_APPLICATION_CBOR)
+                .mediaType("smile", MEDIA_TYPE_APPLICATION_SMILE);
     }
 }
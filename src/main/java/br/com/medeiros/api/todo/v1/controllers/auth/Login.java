@@ -1,8 +1,11 @@
 package br.com.medeiros.api.todo.v1.controllers.auth;
 
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -13,8 +16,11 @@ import br.com.medeiros.api.todo.v1.data.LoginResponse;
 import br.com.medeiros.api.todo.v1.entities.UserEntity;
 import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.InvalidCredentialsException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.ServiceUnavailableException;
 import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
+import br.com.medeiros.api.todo.v1.ratelimit.AuthRateLimiter;
 import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import br.com.medeiros.api.todo.v1.security.PasswordHasher;
 import br.com.medeiros.api.todo.v1.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -28,14 +34,18 @@ import jakarta.validation.Valid;
 @Tag(name = "Login", description = "Login to a User")
 public class Login {
 
+    private static final Logger log = LoggerFactory.getLogger(Login.class);
+
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final AuthRateLimiter authRateLimiter;
 
-    public Login(UserRepository userRepository, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public Login(UserRepository userRepository, JwtUtil jwtUtil, PasswordHasher passwordHasher, AuthRateLimiter authRateLimiter) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @PostMapping(consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
@@ -48,19 +58,46 @@ public class Login {
             responses = {
                     @ApiResponse(description = "User Logged", responseCode = "201", content =  @Content(schema = @Schema(type = "string", example = "token=eyJhbGciOiJIUzI1..."))),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Too Many Requests", responseCode = "429", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Service Unavailable", responseCode = "503", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
             })
-    public ResponseEntity<?> login(@RequestBody @Valid LoginDto dto) {
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody @Valid LoginDto dto) {
+        authRateLimiter.checkUsername(dto.username());
+
         UserEntity user = userRepository.findByUsername(dto.username()).
                 orElseThrow(() -> new UsernameNotFoundException("User Not Found"));
 
+        // the request thread is released while BCrypt runs on the hashing pool, and the
+        // rest runs back on the task executor
+        return passwordHasher.matches(dto.password(), user.getPassword())
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new InvalidCredentialsException("Inavlid Credentials");
+                    }
 
-        if (!passwordEncoder.matches(dto.password(), user.getPassword())) {
-            throw new InvalidCredentialsException("Inavlid Credentials");
-        }
+                    if (passwordHasher.needsRehash(user.getPassword())) {
+                        rehash(user, dto.password());
+                    }
 
-        String token = jwtUtil.generateToken(user);
+                    String token = jwtUtil.generateToken(user);
 
-        return ResponseEntity.ok(new LoginResponse(token));
+                    return ResponseEntity.ok(new LoginResponse(token));
+                });
+    }
+
+    // the cost changed since this hash was stored, upgrade it in the background
+    private void rehash(UserEntity user, String rawPassword) {
+        try {
+            passwordHasher.hash(rawPassword)
+                    .thenAccept(hash -> userRepository.updatePassword(user.getId(), hash))
+                    .whenComplete((ignored, e) -> {
+                        if (e != null) {
+                            log.warn("Could not rehash the password of user {}", user.getId(), e);
+                        }
+                    });
+        } catch (ServiceUnavailableException e) {
+            // the stored hash still verifies, so dropping the upgrade loses nothing; the next login retries it
+        }
     }
 }
@@ -0,0 +1,40 @@
+package br.com.medeiros.api.todo.v1.controllers.auth;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
+import br.com.medeiros.api.todo.v1.security.TokenRevocations;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/todos/v1/auth/logout")
+@Tag(name = "Logout", description = "Logout from every session of a User")
+public class Logout {
+
+    private final TokenRevocations tokenRevocations;
+
+    public Logout(TokenRevocations tokenRevocations) {
+        this.tokenRevocations = tokenRevocations;
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Logout",
+            description = "Revoke every token issued to the user until now",
+            tags = {"Authentication"},
+            responses = {
+                    @ApiResponse(description = "Logged out", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Forbidden", responseCode = "403", content = @Content)
+            })
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser user) {
+        tokenRevocations.revokeAll(user.id());
+        return ResponseEntity.noContent().build();
+    }
+}
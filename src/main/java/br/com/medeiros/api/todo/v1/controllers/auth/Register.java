@@ -1,7 +1,8 @@
 package br.com.medeiros.api.todo.v1.controllers.auth;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -15,7 +16,9 @@ import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.UserAlreadyExistsException;
 import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
+import br.com.medeiros.api.todo.v1.ratelimit.AuthRateLimiter;
 import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import br.com.medeiros.api.todo.v1.security.PasswordHasher;
 import br.com.medeiros.api.todo.v1.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -29,12 +32,14 @@ public class Register {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final AuthRateLimiter authRateLimiter;
 
-    public Register(UserRepository userRepository, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public Register(UserRepository userRepository, JwtUtil jwtUtil, PasswordHasher passwordHasher, AuthRateLimiter authRateLimiter) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @PostMapping(consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
@@ -47,27 +52,34 @@ public class Register {
             responses = {
                     @ApiResponse(description = "User successfully created", responseCode = "201", content =  @Content(schema = @Schema(type = "string", example = "token=eyJhbGciOiJIUzI1..."))),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Too Many Requests", responseCode = "429", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Service Unavailable", responseCode = "503", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
             })
-    public ResponseEntity<?> register(@RequestBody @Valid RegisterDto dto) {
+    public CompletableFuture<ResponseEntity<LoginResponse>> register(@RequestBody @Valid RegisterDto dto) {
+        authRateLimiter.checkUsername(dto.username());
+
         if(userRepository.findByUsername(dto.username()).isPresent()) {
-            throw new UserAlreadyExistsException();
+            throw UserAlreadyExistsException.INSTANCE;
         }
 
         if(!dto.password().equals(dto.passwordConfirmation())){
             throw new BadRequestException("Passwords are not equal");
         }
 
-        UserEntity user = new UserEntity();
-        user.setUsername(dto.username());
-        user.setPassword(passwordEncoder.encode(dto.password()));
-        user.setRole(Role.USER);
+        return passwordHasher.hash(dto.password())
+                .thenApply(hash -> {
+                    UserEntity user = new UserEntity();
+                    user.setUsername(dto.username());
+                    user.setPassword(hash);
+                    user.setRole(Role.USER);
 
-        userRepository.save(user);
+                    userRepository.save(user);
 
-        String token = jwtUtil.generateToken(user);
+                    String token = jwtUtil.generateToken(user);
 
-        return ResponseEntity.ok(new LoginResponse(token));
+                    return ResponseEntity.ok(new LoginResponse(token));
+                });
     }
 
 }
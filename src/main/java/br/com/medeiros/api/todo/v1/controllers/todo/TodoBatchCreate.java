@@ -0,0 +1,57 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.medeiros.api.todo.v1.data.BatchItemResult;
+import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
+import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
+import br.com.medeiros.api.todo.v1.services.TodoBatchService;
+import br.com.medeiros.api.todo.v1.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/todos/v1")
+@Tag(name = "BatchCreate", description = "Create many Todos at once")
+public class TodoBatchCreate {
+
+    private final TodoBatchService todoBatchService;
+
+    public TodoBatchCreate(TodoBatchService todoBatchService) {
+        this.todoBatchService = todoBatchService;
+    }
+
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE})
+
+    @Operation(
+            summary = "Create many Todos",
+            description = "Create up to 10000 Todos in one transaction by passing a JSON, XML or YAML array. Every item gets its own result",
+            tags = {"Todos"},
+            responses = {
+                    @ApiResponse(description = "Batch processed", responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResult.class)))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+            })
+
+    public ResponseEntity<List<BatchItemResult>> createTodos(
+            @RequestBody List<RequestCreateTodoDto> requests,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+
+        return ResponseEntity.ok(todoBatchService.createTodos(requests, user.id()));
+    }
+}
@@ -2,8 +2,6 @@ package br.com.medeiros.api.todo.v1.controllers.todo;
 
 import java.net.URI;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,15 +11,17 @@ import org.springframework.web.bind.annotation.RestController;
 
 import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
 import br.com.medeiros.api.todo.v1.data.ResponseDto;
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
 import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
 import br.com.medeiros.api.todo.v1.services.TodoService;
+import br.com.medeiros.api.todo.v1.util.ETags;
 import br.com.medeiros.api.todo.v1.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -30,13 +30,18 @@ import jakarta.validation.Valid;
 public class TodoCreate {
 
     private final TodoService todoService;
+    private final TodoLinks todoLinks;
+    private final TodoVariants todoVariants;
 
-    public TodoCreate(TodoService todoService) {
+    public TodoCreate(TodoService todoService, TodoLinks todoLinks, TodoVariants todoVariants) {
         this.todoService = todoService;
+        this.todoLinks = todoLinks;
+        this.todoVariants = todoVariants;
     }
 
     @PostMapping(consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
-                 produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+                 produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE})
 
     @Operation(
             summary = "Create a new Todo",
@@ -50,40 +55,44 @@ public class TodoCreate {
 
     public ResponseEntity<ResponseDto> createTodo(
             @Valid @RequestBody RequestCreateTodoDto requestCreateTodoDto,
-            @AuthenticationPrincipal UserEntity user) {
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) {
 
-        var todo = todoService.createTodo(requestCreateTodoDto, user);
+        var todo = todoService.createTodo(requestCreateTodoDto, user.id());
 
         var responseDto = ResponseDto.fromEntity(todo);
 
+        var links = todoLinks.forCurrentRequest();
+
         responseDto.addAction("self",
-                linkTo(methodOn(TodoCreate.class).createTodo(null, user)).toString(),
+                links.create(),
                 "POST",
                 "create a new TODO");
 
         responseDto.addAction("update",
-                linkTo(methodOn(TodoUpdateById.class).updateTodoById(responseDto.id(), null, user)).toString(),
+                links.updateById(responseDto.id()),
                 "PUT",
                 "update this TODO");
 
         responseDto.addAction("get",
-                linkTo(methodOn(TodoFindById.class).findById(responseDto.id(), user)).toString(),
+                links.findById(responseDto.id()),
                 "GET",
                 "get a single TODO");
 
         responseDto.addAction("get all",
-                linkTo(methodOn(TodoFindAll.class).findAll(user)).toString(),
+                links.findAll(),
                 "GET",
                 "get all TODOS");
 
         responseDto.addAction("delete",
-                linkTo(methodOn(TodoDeleteById.class).deleteById(responseDto.id(), user)).toString(),
+                links.deleteById(responseDto.id()),
                 "DELETE",
                 "delete this TODO");
 
 
 
         return ResponseEntity.created(URI.create("/api/todos/v1/" + responseDto.id()))
+                .eTag(ETags.forTodo(todo.getId(), todo.getVersion(), todoVariants.of(request)))
                 .body(responseDto);
     }
 }
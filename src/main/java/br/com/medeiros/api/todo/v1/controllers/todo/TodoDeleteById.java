@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
 import br.com.medeiros.api.todo.v1.services.TodoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -31,13 +31,14 @@ public class TodoDeleteById {
             tags = {"Todos"},
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200"),
+                    @ApiResponse(description = "Not Found", responseCode = "404"),
             })
 
     public ResponseEntity<Void> deleteById(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserEntity user) {
+            @AuthenticationPrincipal AuthenticatedUser user) {
 
-        todoService.deleteTodoById(id, user);
+        todoService.deleteTodoById(id, user.id());
 
         return ResponseEntity.ok().build();
     }
@@ -0,0 +1,73 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.medeiros.api.todo.v1.enums.ExportFormat;
+import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
+import br.com.medeiros.api.todo.v1.services.TodoExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/todos/v1")
+@Tag(name = "Export", description = "Export all todos")
+public class TodoExport {
+
+    private final TodoExportService todoExportService;
+
+    public TodoExport(TodoExportService todoExportService) {
+        this.todoExportService = todoExportService;
+    }
+
+    @GetMapping("/export")
+
+    @Operation(summary = "Export all todos",
+            description = "Stream every todo of the user as NDJSON, JSON, XML, YAML or CSV",
+            tags = {"Todos"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "application/json"),
+                            @Content(mediaType = "application/xml"),
+                            @Content(mediaType = "application/x-yaml"),
+                            @Content(mediaType = "text/csv")
+                    }),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+            })
+
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "ndjson, json, xml, yaml or csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+
+        var exportFormat = ExportFormat.from(format);
+        Long userId = user.id();
+
+        // rows are written as they are read, nothing is collected in memory first
+        StreamingResponseBody body = out -> todoExportService.exportTodos(userId, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("todos." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+}
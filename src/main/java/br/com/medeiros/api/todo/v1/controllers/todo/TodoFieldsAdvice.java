@@ -0,0 +1,33 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import br.com.medeiros.api.todo.v1.data.TodoFields;
+
+// drops the properties a client did not ask for (?fields= and ?include=) while the
+// response is written, for every Jackson converter (JSON, XML, YAML, CBOR, Smile)
+@ControllerAdvice(basePackageClasses = TodoFieldsAdvice.class)
+public class TodoFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+
+        var fields = TodoFieldsInterceptor.fields(servletRequest.getServletRequest());
+
+        if (fields != TodoFields.ALL) {
+            bodyContainer.setFilters(fields.filters());
+        }
+    }
+}
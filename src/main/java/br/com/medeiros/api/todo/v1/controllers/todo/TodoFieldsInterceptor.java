@@ -0,0 +1,25 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import br.com.medeiros.api.todo.v1.data.TodoFields;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// parses ?fields= and ?include= before the handler runs, so a bad value is a 400
+// and not a write that already happened followed by an error
+public class TodoFieldsInterceptor implements HandlerInterceptor {
+
+    public static final String ATTRIBUTE = TodoFields.class.getName();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(ATTRIBUTE, TodoFields.of(request.getParameter("fields"), request.getParameter("include")));
+        return true;
+    }
+
+    public static TodoFields fields(HttpServletRequest request) {
+        var fields = request.getAttribute(ATTRIBUTE);
+        return fields instanceof TodoFields todoFields ? todoFields : TodoFields.ALL;
+    }
+}
@@ -1,25 +1,38 @@
 package br.com.medeiros.api.todo.v1.controllers.todo;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import br.com.medeiros.api.todo.v1.data.ResponseDto;
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.data.TodoCursor;
+import br.com.medeiros.api.todo.v1.data.TodoFilter;
+import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
 import br.com.medeiros.api.todo.v1.services.TodoService;
+import br.com.medeiros.api.todo.v1.util.ETags;
 import br.com.medeiros.api.todo.v1.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/todos/v1")
@@ -27,15 +40,20 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class TodoFindAll {
 
     private final TodoService todoService;
+    private final TodoLinks todoLinks;
+    private final TodoVariants todoVariants;
 
-    public TodoFindAll(TodoService todoService) {
+    public TodoFindAll(TodoService todoService, TodoLinks todoLinks, TodoVariants todoVariants) {
         this.todoService = todoService;
+        this.todoLinks = todoLinks;
+        this.todoVariants = todoVariants;
     }
 
-    @GetMapping(produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML})
+    @GetMapping(produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE})
 
     @Operation(summary = "Find all todos",
-            description = "Find all todos",
+            description = "Find all todos, filtered by status and creation date and paginated by creation date. The next page is advertised in the Link header",
             tags = {"Todos"},
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200", content = {
@@ -45,27 +63,78 @@ public class TodoFindAll {
                             )
                     }),
                     @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
             })
 
-    public ResponseEntity<List<ResponseDto>> findAll(@AuthenticationPrincipal UserEntity user) {
+    public ResponseEntity<List<ResponseDto>> findAll(
+            @Parameter(description = "Page size, 1 to 500 (default 50)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor taken from the previous page's next link")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Only todos with this status")
+            @RequestParam(required = false) TodoStatus status,
+            @Parameter(description = "Only todos created at or after this instant")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @Parameter(description = "Only todos created before this instant")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @Parameter(description = "createdAt,asc (default) or createdAt,desc")
+            @RequestParam(required = false) String sort,
+            // declared for the API docs, TodoFieldsInterceptor has already parsed them
+            @Parameter(description = "Comma separated fields to return: id, name, description, status, createdAt (default all)")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "With fields, the extras to return as well: actions, links")
+            @RequestParam(required = false) String include,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) {
+
+        // a bad page is a 400 whether or not the list changed
+        var filter = TodoFilter.of(status, createdFrom, createdTo, sort);
+        TodoService.pageSize(limit);
+        if (after != null) {
+            TodoCursor.decode(after);
+        }
+
+        // any write to the user's todos bumps this version, so an unchanged one means an unchanged page
+        var etag = ETags.forList(user.id(), todoService.findTodosVersion(user.id()), todoVariants.mediaType(request),
+                ServletUriComponentsBuilder.fromCurrentRequest().build().getQueryParams());
+
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
 
-        var todoEntities = todoService.findAllTodos(user);
+        var page = todoService.findAllTodos(user.id(), filter, limit, after,
+                TodoFieldsInterceptor.fields(request).includes("description"));
 
-        if (todoEntities.isEmpty()) {
+        if (page.todos().isEmpty()) {
             return ResponseEntity.noContent().build();
         }
 
-        var todos = todoEntities.stream()
+        var todos = page.todos().stream()
                 .map(ResponseDto::fromEntity)
                 .toList();
 
-        todos.forEach(todo -> todo.add(linkTo(methodOn(TodoFindById.class)
-                .findById(todo.id(), user))
-                .withSelfRel()));
+        var links = todoLinks.forCurrentRequest();
+        todos.forEach(todo -> todo.add(links.self(todo.id())));
 
+        var response = ResponseEntity.ok()
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT);
+
+        if (page.next() != null) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", page.todos().size())
+                    .replaceQueryParam("after", page.next().encode())
+                    .toUriString();
+
+            response.header(HttpHeaders.LINK, Link.of(next, IanaLinkRelations.NEXT).toString());
+        }
 
-        return ResponseEntity.ok(todos);
+        return response.body(todos);
     }
 
 }
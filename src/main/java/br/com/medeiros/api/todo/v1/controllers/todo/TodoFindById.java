@@ -1,24 +1,27 @@
 package br.com.medeiros.api.todo.v1.controllers.todo;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.medeiros.api.todo.v1.data.ResponseDto;
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
 import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
 import br.com.medeiros.api.todo.v1.services.TodoService;
+import br.com.medeiros.api.todo.v1.util.ETags;
 import br.com.medeiros.api.todo.v1.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/todos/v1")
@@ -26,57 +29,84 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class TodoFindById {
 
     private final TodoService todoService;
+    private final TodoLinks todoLinks;
+    private final TodoVariants todoVariants;
 
-    public TodoFindById(TodoService todoService) {
+    public TodoFindById(TodoService todoService, TodoLinks todoLinks, TodoVariants todoVariants) {
         this.todoService = todoService;
+        this.todoLinks = todoLinks;
+        this.todoVariants = todoVariants;
     }
 
     @GetMapping(value = "/{id}",
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML}
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE}
     )
     @Operation(summary = "Find todo by id",
-            description = "Find todo by id",
+            description = "Find todo by id. Send the ETag back in If-None-Match to get a 304 when it did not change",
             tags = {"Todos"},
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200", content = @Content(schema = @Schema(implementation = ResponseDto.class))),
+                    @ApiResponse(description = "Not Modified", responseCode = "304", content = @Content),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
                     @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
                     @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
             })
     public ResponseEntity<ResponseDto> findById(
             @PathVariable Long id,
-            @AuthenticationPrincipal UserEntity user) {
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) {
 
-        var entity = todoService.findTodoById(id, user);
+        // revalidation only reads the version column, the todo itself is never loaded
+        var variant = todoVariants.of(request);
+
+        if (ifNoneMatch != null) {
+            var version = todoService.findTodoVersion(id, user.id());
+
+            if (version.isPresent() && ETags.matches(ifNoneMatch, ETags.forTodo(id, version.get(), variant))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(ETags.forTodo(id, version.get(), variant))
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .build();
+            }
+        }
+
+        var entity = todoService.findTodoById(id, user.id());
 
         ResponseDto responseDto = ResponseDto.fromEntity(entity);
 
+        var links = todoLinks.forCurrentRequest();
+
         responseDto.addAction("self",
-                linkTo(methodOn(TodoFindById.class).findById(responseDto.id(), user)).toString(),
+                links.findById(responseDto.id()),
                 "GET",
                 "get a single TODO");
 
         responseDto.addAction("create",
-                linkTo(methodOn(TodoCreate.class).createTodo(null, user)).toString(),
+                links.create(),
                 "POST",
                 "create a new TODO");
 
         responseDto.addAction("update",
-                linkTo(methodOn(TodoUpdateById.class).updateTodoById(responseDto.id(), null, user)).toString(),
+                links.updateById(responseDto.id()),
                 "PUT",
                 "update this TODO");
 
         responseDto.addAction("get all",
-                linkTo(methodOn(TodoFindAll.class).findAll(user)).toString(),
+                links.findAll(),
                 "GET",
                 "get all TODOS");
 
         responseDto.addAction("delete",
-                linkTo(methodOn(TodoDeleteById.class).deleteById(responseDto.id(), user)).toString(),
+                links.deleteById(responseDto.id()),
                 "DELETE",
                 "delete this TODO");
 
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.forTodo(entity.getId(), entity.getVersion(), variant))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(responseDto);
     }
 
 }
@@ -0,0 +1,100 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.core.AnnotationMappingDiscoverer;
+import org.springframework.hateoas.server.core.MappingDiscoverer;
+import org.springframework.hateoas.server.core.UriMapping;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+// the same hrefs linkTo(methodOn(...)) builds, but the mappings are resolved once at startup
+// and a response only pays for one base URI plus a string concatenation per link
+@Component
+public class TodoLinks {
+
+    private static final MappingDiscoverer DISCOVERER = new AnnotationMappingDiscoverer(RequestMapping.class);
+
+    private final String create;
+    private final String findAll;
+    private final Template findById;
+    private final Template updateById;
+    private final Template deleteById;
+
+    public TodoLinks() {
+        this.create = mapping(TodoCreate.class, "createTodo");
+        this.findAll = path(DISCOVERER.getUriMapping(TodoFindAll.class), TodoFindAll.class.getSimpleName());
+        this.findById = Template.of(mapping(TodoFindById.class, "findById"));
+        this.updateById = Template.of(mapping(TodoUpdateById.class, "updateTodoById"));
+        this.deleteById = Template.of(mapping(TodoDeleteById.class, "deleteById"));
+    }
+
+    public Links forCurrentRequest() {
+        return new Links(ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString());
+    }
+
+    private static String mapping(Class<?> controller, String methodName) {
+        var method = ReflectionUtils.findMethod(controller, methodName, (Class<?>[]) null);
+        if (method == null) {
+            throw new IllegalStateException(controller.getSimpleName() + "." + methodName + " not found");
+        }
+        return path(DISCOVERER.getUriMapping(controller, method), controller.getSimpleName() + "." + methodName);
+    }
+
+    private static String path(UriMapping mapping, String source) {
+        if (mapping == null) {
+            throw new IllegalStateException(source + " has no request mapping");
+        }
+        return mapping.getMapping();
+    }
+
+    private record Template(String prefix, String suffix) {
+
+        static Template of(String mapping) {
+            int start = mapping.indexOf('{');
+            int end = mapping.indexOf('}', start);
+            if (start < 0 || end < 0 || mapping.indexOf('{', end) >= 0) {
+                throw new IllegalStateException("Expected a single path variable in " + mapping);
+            }
+            return new Template(mapping.substring(0, start), mapping.substring(end + 1));
+        }
+
+        String expand(String base, Long id) {
+            return base + prefix + id + suffix;
+        }
+    }
+
+    public final class Links {
+
+        private final String base;
+
+        private Links(String base) {
+            this.base = base;
+        }
+
+        public String create() {
+            return base + create;
+        }
+
+        public String findAll() {
+            return base + findAll;
+        }
+
+        public String findById(Long id) {
+            return findById.expand(base, id);
+        }
+
+        public String updateById(Long id) {
+            return updateById.expand(base, id);
+        }
+
+        public String deleteById(Long id) {
+            return deleteById.expand(base, id);
+        }
+
+        public Link self(Long id) {
+            return Link.of(findById(id)).withSelfRel();
+        }
+    }
+}
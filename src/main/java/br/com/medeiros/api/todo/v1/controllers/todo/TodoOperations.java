@@ -0,0 +1,74 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.medeiros.api.todo.v1.data.BatchItemResult;
+import br.com.medeiros.api.todo.v1.data.TodoOperationsRequest;
+import br.com.medeiros.api.todo.v1.enums.OperationMode;
+import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
+import br.com.medeiros.api.todo.v1.services.TodoOperationService;
+import br.com.medeiros.api.todo.v1.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/todos/v1")
+@Tag(name = "Operations", description = "Create, update and delete many Todos at once")
+public class TodoOperations {
+
+    private final TodoOperationService todoOperationService;
+
+    public TodoOperations(TodoOperationService todoOperationService) {
+        this.todoOperationService = todoOperationService;
+    }
+
+    @PostMapping(value = "/operations",
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE})
+
+    @Operation(
+            summary = "Apply many operations",
+            description = "Apply up to 1000 create, update and delete operations, in order, in one transaction. "
+                    + "ATOMIC (default) applies all of them or none, BEST_EFFORT applies every one that can be. Every operation gets its own result",
+            tags = {"Todos"},
+            responses = {
+                    @ApiResponse(description = "Operations processed", responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResult.class)))),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "ATOMIC request rolled back, answered with the status of the operation that failed", responseCode = "4XX", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BatchItemResult.class)))),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content(schema = @Schema(implementation = ExceptionResponse.class)))
+            })
+
+    public ResponseEntity<List<BatchItemResult>> applyOperations(
+            @RequestBody TodoOperationsRequest request,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+
+        var results = todoOperationService.applyOperations(request.operations(), request.mode(), user.id());
+
+        if (request.mode() == OperationMode.BEST_EFFORT) {
+            return ResponseEntity.ok(results);
+        }
+
+        // a rolled back request has exactly one result that is not 424, the one that failed
+        var status = results.stream()
+                .mapToInt(BatchItemResult::status)
+                .filter(itemStatus -> itemStatus >= 400 && itemStatus != HttpStatus.FAILED_DEPENDENCY.value())
+                .findFirst()
+                .orElse(HttpStatus.OK.value());
+
+        return ResponseEntity.status(status).body(results);
+    }
+}
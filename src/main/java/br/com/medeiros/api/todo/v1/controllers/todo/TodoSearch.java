@@ -0,0 +1,82 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.medeiros.api.todo.v1.data.ResponseDto;
+import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
+import br.com.medeiros.api.todo.v1.services.TodoService;
+import br.com.medeiros.api.todo.v1.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/todos/v1")
+@Tag(name = "Search", description = "Search todos")
+public class TodoSearch {
+
+    private final TodoService todoService;
+    private final TodoLinks todoLinks;
+
+    public TodoSearch(TodoService todoService, TodoLinks todoLinks) {
+        this.todoService = todoService;
+        this.todoLinks = todoLinks;
+    }
+
+    @GetMapping(value = "/search",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE})
+
+    @Operation(summary = "Search todos",
+            description = "Full-text search over name and description, most relevant first",
+            tags = {"Todos"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200", content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    array = @ArraySchema(schema = @Schema(implementation = ResponseDto.class))
+                            )
+                    }),
+                    @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+            })
+
+    public ResponseEntity<List<ResponseDto>> search(
+            @Parameter(description = "Words to look for")
+            @RequestParam String q,
+            @Parameter(description = "Page size, 1 to 100 (default 20)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Number of results to skip, up to 10000")
+            @RequestParam(required = false) Integer offset,
+            @AuthenticationPrincipal AuthenticatedUser user) {
+
+        var todoEntities = todoService.searchTodos(user.id(), q, limit, offset);
+
+        if (todoEntities.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
+        var todos = todoEntities.stream()
+                .map(ResponseDto::fromEntity)
+                .toList();
+
+        var links = todoLinks.forCurrentRequest();
+        todos.forEach(todo -> todo.add(links.self(todo.id())));
+
+        return ResponseEntity.ok(todos);
+    }
+
+}
@@ -1,27 +1,29 @@
 package br.com.medeiros.api.todo.v1.controllers.todo;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
 import br.com.medeiros.api.todo.v1.data.ResponseDto;
 import br.com.medeiros.api.todo.v1.entities.TodoEntity;
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
 import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
 import br.com.medeiros.api.todo.v1.services.TodoService;
+import br.com.medeiros.api.todo.v1.util.ETags;
 import br.com.medeiros.api.todo.v1.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/todos/v1")
@@ -29,61 +31,74 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class TodoUpdateById {
 
     private final TodoService todoService;
+    private final TodoLinks todoLinks;
+    private final TodoVariants todoVariants;
 
-    public TodoUpdateById(TodoService todoService) {
+    public TodoUpdateById(TodoService todoService, TodoLinks todoLinks, TodoVariants todoVariants) {
         this.todoService = todoService;
+        this.todoLinks = todoLinks;
+        this.todoVariants = todoVariants;
     }
 
     @PutMapping(value = "/{id}",
             consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML},
-            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML}
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YAML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE}
     )
 
     @Operation(summary = "Update todo by id",
-            description = "update todo by id",
+            description = "update todo by id. Send the ETag in If-Match to only update the version that was read",
             tags = {"Todos"},
             responses = {
                     @ApiResponse(description = "Success", responseCode = "200", content = @Content(schema = @Schema(implementation = ResponseDto.class))),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
-                    @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Not Found", responseCode = "404", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
+                    @ApiResponse(description = "Precondition Failed", responseCode = "412", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
                     @ApiResponse(description = "Bad Request", responseCode = "400", content = @Content(schema = @Schema(implementation = ExceptionResponse.class))),
             })
 
     public ResponseEntity<ResponseDto> updateTodoById(
             @PathVariable Long id,
             @RequestBody RequestUpdateTodoByIdDto req,
-            @AuthenticationPrincipal UserEntity user) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletRequest request) {
 
-        TodoEntity todo = todoService.updateTodoById(id, req, user);
+        TodoEntity todo = todoService.updateTodoById(id, req, ETags.expectedVersion(ifMatch, id), user.id());
 
         ResponseDto responseDto = ResponseDto.fromEntity(todo);
 
+        var links = todoLinks.forCurrentRequest();
+
         responseDto.addAction("self",
-                linkTo(methodOn(TodoUpdateById.class).updateTodoById(responseDto.id(), null, user)).toString(),
+                links.updateById(responseDto.id()),
                 "PUT",
                 "update this TODO");
         
         responseDto.addAction("create",
-                linkTo(methodOn(TodoCreate.class).createTodo(null, user)).toString(),
+                links.create(),
                 "POST",
                 "create a new TODO");
 
         responseDto.addAction("get",
-                linkTo(methodOn(TodoFindById.class).findById(responseDto.id(), user)).toString(),
+                links.findById(responseDto.id()),
                 "GET",
                 "get a single TODO");
 
         responseDto.addAction("get all",
-                linkTo(methodOn(TodoFindAll.class).findAll(user)).toString(),
+                links.findAll(),
                 "GET",
                 "get all TODOS");
 
         responseDto.addAction("delete",
-                linkTo(methodOn(TodoDeleteById.class).deleteById(responseDto.id(), user)).toString(),
+                links.deleteById(responseDto.id()),
                 "DELETE",
                 "delete this TODO");
 
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.forTodo(todo.getId(), todo.getVersion(), todoVariants.of(request)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(responseDto);
     }
 
 }
@@ -0,0 +1,68 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import br.com.medeiros.api.todo.v1.data.TodoFields;
+import jakarta.servlet.http.HttpServletRequest;
+
+// names the representation a todo response is written in, before it is written, so a 304
+// can be decided without loading anything. The media type is picked the way Spring's
+// message converters pick it: the handler's produces list against the Accept header
+@Component
+public class TodoVariants {
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    public TodoVariants(ContentNegotiationManager contentNegotiationManager) {
+        this.contentNegotiationManager = contentNegotiationManager;
+    }
+
+    // media type and field set, for a single todo
+    public String of(HttpServletRequest request) {
+        var fields = TodoFieldsInterceptor.fields(request);
+        return mediaType(request) + "." + fields.key();
+    }
+
+    public String mediaType(HttpServletRequest request) {
+        List<MediaType> acceptable;
+        try {
+            acceptable = contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return "none";
+        }
+
+        @SuppressWarnings("unchecked")
+        var producible = (Set<MediaType>) request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        if (producible == null) {
+            return "any";
+        }
+
+        List<MediaType> compatible = new ArrayList<>();
+        for (var accept : acceptable) {
+            for (var produce : producible) {
+                if (accept.isCompatibleWith(produce)) {
+                    var specific = produce.copyQualityValue(accept);
+                    compatible.add(accept.isLessSpecific(specific) ? specific : accept);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+
+        for (var mediaType : compatible) {
+            if (mediaType.isConcrete()) {
+                return mediaType.getSubtype();
+            }
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, int status, Long id, String etag, String error) {
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, 201, id, null, null);
+    }
+
+    public static BatchItemResult created(int index, Long id, String etag) {
+        return new BatchItemResult(index, 201, id, etag, null);
+    }
+
+    public static BatchItemResult updated(int index, Long id, String etag) {
+        return new BatchItemResult(index, 200, id, etag, null);
+    }
+
+    public static BatchItemResult deleted(int index, Long id) {
+        return new BatchItemResult(index, 204, id, null, null);
+    }
+
+    public static BatchItemResult failed(int index, int status, String error) {
+        return new BatchItemResult(index, status, null, null, error);
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.medeiros.api.todo.v1.data;
 
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 
 public record RequestCreateTodoDto(
         @NotEmpty(message = "can not be empty")
+        @Size(max = 255, message = "must have at most 255 characters")
         String name,
+        @Size(max = 255, message = "must have at most 255 characters")
         String description
 ) {}
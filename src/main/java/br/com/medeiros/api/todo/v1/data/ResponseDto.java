@@ -9,6 +9,7 @@ import org.springframework.hateoas.RepresentationModel;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
@@ -26,6 +27,7 @@ import br.com.medeiros.api.todo.v1.enums.TodoStatus;
 })
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonFilter(TodoFields.FILTER_ID)
 public final class ResponseDto extends RepresentationModel<ResponseDto> {
 
     @JsonProperty("id")
@@ -91,11 +93,11 @@ public final class ResponseDto extends RepresentationModel<ResponseDto> {
         if (obj == this) return true;
         if (obj == null || obj.getClass() != this.getClass()) return false;
         ResponseDto that = (ResponseDto) obj;
-        return this.id.equals(that.id) &&
-                this.name.equals(that.name) &&
-                this.description.equals(that.description) &&
-                this.status.equals(that.status) &&
-                this.createdAt.equals(that.createdAt);
+        return Objects.equals(this.id, that.id) &&
+                Objects.equals(this.name, that.name) &&
+                Objects.equals(this.description, that.description) &&
+                Objects.equals(this.status, that.status) &&
+                Objects.equals(this.createdAt, that.createdAt);
     }
 
     @Override
@@ -0,0 +1,36 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+
+public record TodoCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static TodoCursor of(TodoEntity todo) {
+        return new TodoCursor(todo.getCreatedAt(), todo.getId());
+    }
+
+    public static TodoCursor decode(String value) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            var separator = decoded.lastIndexOf(SEPARATOR);
+
+            return new TodoCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        var raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
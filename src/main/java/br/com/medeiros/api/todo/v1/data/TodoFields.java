@@ -0,0 +1,76 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+
+// filters is built once with the field set, not for every response written with it
+public record TodoFields(Set<String> properties, FilterProvider filters) {
+
+    public static final String FILTER_ID = "todoFields";
+
+    public static final List<String> FIELDS = List.of("id", "name", "description", "status", "createdAt");
+    public static final List<String> INCLUDES = List.of("actions", "links");
+
+    // registered on every mapper so ResponseDto serializes in full when no fields were asked for
+    public static final FilterProvider DEFAULT_FILTERS = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+            .setFailOnUnknownId(false);
+
+    public static final TodoFields ALL = new TodoFields(null);
+
+    public TodoFields(Set<String> properties) {
+        this(properties, properties == null ? DEFAULT_FILTERS : new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+    }
+
+    // with neither parameter every property is written; with either, only what was named,
+    // and a missing fields means every field
+    public static TodoFields of(String fields, String include) {
+        if (fields == null && include == null) {
+            return ALL;
+        }
+
+        Set<String> properties = new HashSet<>();
+        if (fields == null) {
+            properties.addAll(FIELDS);
+        } else {
+            addAll(properties, fields, FIELDS, "fields");
+        }
+        if (include != null) {
+            addAll(properties, include, INCLUDES, "include");
+        }
+        if (properties.contains("links")) {
+            // HAL writes the same links as _links
+            properties.add("_links");
+        }
+
+        return new TodoFields(Set.copyOf(properties));
+    }
+
+    public boolean includes(String property) {
+        return properties == null || properties.contains(property);
+    }
+
+    // the same set always gives the same key, whatever order it was asked in
+    public String key() {
+        return properties == null ? "all" : String.join("+", new TreeSet<>(properties));
+    }
+
+    private static void addAll(Set<String> properties, String value, List<String> allowed, String parameter) {
+        for (String name : value.split(",")) {
+            var property = name.strip();
+            if (!allowed.contains(property)) {
+                throw new BadRequestException(parameter + " must be a comma separated list of " + String.join(", ", allowed));
+            }
+            properties.add(property);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import java.time.LocalDateTime;
+
+import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+
+public record TodoFilter(TodoStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, boolean descending) {
+
+    public static final TodoFilter NONE = new TodoFilter(null, null, null, false);
+
+    public static TodoFilter of(TodoStatus status, LocalDateTime createdFrom, LocalDateTime createdTo, String sort) {
+        if (createdFrom != null && createdTo != null && !createdFrom.isBefore(createdTo)) {
+            throw new BadRequestException("createdFrom must be before createdTo");
+        }
+
+        return new TodoFilter(status, createdFrom, createdTo, isDescending(sort));
+    }
+
+    private static boolean isDescending(String sort) {
+        if (sort == null || sort.equals("createdAt") || sort.equals("createdAt,asc")) {
+            return false;
+        }
+        if (sort.equals("createdAt,desc")) {
+            return true;
+        }
+        throw new BadRequestException("sort must be createdAt,asc or createdAt,desc");
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import br.com.medeiros.api.todo.v1.enums.OperationType;
+
+// create carries a RequestCreateTodoDto, update an id and a RequestUpdateTodoByIdDto,
+// delete only an id; ifMatch is the todo's ETag, as sent in If-Match on PUT and DELETE
+public record TodoOperation(
+        OperationType type,
+        Long id,
+        String ifMatch,
+        RequestCreateTodoDto create,
+        RequestUpdateTodoByIdDto update
+) {
+}
@@ -0,0 +1,11 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import java.util.List;
+
+import br.com.medeiros.api.todo.v1.enums.OperationMode;
+
+public record TodoOperationsRequest(
+        OperationMode mode,
+        List<TodoOperation> operations
+) {
+}
@@ -0,0 +1,8 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import java.util.List;
+
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+
+public record TodoPage(List<TodoEntity> todos, TodoCursor next) {
+}
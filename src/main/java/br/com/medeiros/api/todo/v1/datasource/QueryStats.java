@@ -0,0 +1,71 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+// The statements run on behalf of one request. QueryStatsFilter binds it to the request
+// thread, and wrap carries it to the threads that finish the request (password hashing,
+// streamed exports), so a request is counted whole wherever its statements run.
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long totalNanos;
+    private long slowestNanos;
+    private String slowestSql;
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    // returns what was bound before, to be restored when the caller is done
+    static QueryStats bind(QueryStats stats) {
+        QueryStats previous = CURRENT.get();
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+        return previous;
+    }
+
+    public static Runnable wrap(Runnable task) {
+        QueryStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+
+        return () -> {
+            QueryStats previous = bind(stats);
+            try {
+                task.run();
+            } finally {
+                bind(previous);
+            }
+        };
+    }
+
+    // a request and the task it handed off can both be running statements
+    synchronized void record(String sql, long nanos) {
+        count++;
+        totalNanos += nanos;
+        if (nanos > slowestNanos) {
+            slowestNanos = nanos;
+            slowestSql = sql;
+        }
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public synchronized long getSlowestNanos() {
+        return slowestNanos;
+    }
+
+    public synchronized String getSlowestSql() {
+        return slowestSql;
+    }
+}
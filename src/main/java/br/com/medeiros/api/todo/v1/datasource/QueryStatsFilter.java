@@ -0,0 +1,144 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Collects the statements of each request into a QueryStats and records them per route once
+// the request is done. Async requests (login, register, exports) are bound again on the
+// async dispatch and recorded there, so their statements are not lost between threads.
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final String ATTRIBUTE = QueryStatsFilter.class.getName() + ".stats";
+
+    private final MeterRegistry registry;
+    private final boolean serverTiming;
+    private final Map<String, RouteMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryStatsFilter(MeterRegistry registry, boolean serverTiming) {
+        this.registry = registry;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = (QueryStats) request.getAttribute(ATTRIBUTE);
+        if (stats == null) {
+            stats = new QueryStats();
+            request.setAttribute(ATTRIBUTE, stats);
+        }
+
+        HttpServletResponse target = serverTiming ? new ServerTimingResponse(response, stats) : response;
+        QueryStats previous = QueryStats.bind(stats);
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            QueryStats.bind(previous);
+
+            if (!isAsyncStarted(request)) {
+                if (serverTiming) {
+                    addServerTiming(response, stats);
+                }
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        RouteMeters route = meters.computeIfAbsent(uri, this::routeMeters);
+        route.statements().record(stats.getCount());
+        route.time().record(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private RouteMeters routeMeters(String uri) {
+        return new RouteMeters(
+                DistributionSummary.builder("db.request.statements")
+                        .description("JDBC statements executed per request")
+                        .tag("uri", uri)
+                        .register(registry),
+                Timer.builder("db.request.time")
+                        .description("Time spent in JDBC statements per request")
+                        .tag("uri", uri)
+                        .register(registry));
+    }
+
+    // headers have to go out with the first byte of the body, by then a handler is done with the database
+    private static void addServerTiming(HttpServletResponse response, QueryStats stats) {
+        if (response.isCommitted() || response.containsHeader(SERVER_TIMING)) {
+            return;
+        }
+
+        response.setHeader(SERVER_TIMING, String.format(Locale.ROOT, "db;dur=%.2f;desc=\"%d statements\"",
+                stats.getTotalNanos() / 1_000_000.0, stats.getCount()));
+    }
+
+    private record RouteMeters(DistributionSummary statements, Timer time) {
+    }
+
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final QueryStats stats;
+
+        ServerTimingResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming((HttpServletResponse) getResponse(), stats);
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming((HttpServletResponse) getResponse(), stats);
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming((HttpServletResponse) getResponse(), stats);
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming((HttpServletResponse) getResponse(), stats);
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming((HttpServletResponse) getResponse(), stats);
+            super.sendError(sc);
+        }
+    }
+}
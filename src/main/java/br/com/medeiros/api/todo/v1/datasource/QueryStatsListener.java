@@ -0,0 +1,63 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Every statement (a JDBC batch counts once, it is one round trip) is timed, added to the
+// current request's QueryStats and, when slow, counted and logged for a sample of them.
+public class QueryStatsListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsListener.class);
+
+    private final Timer statements;
+    private final Counter slowStatements;
+    private final long slowThresholdNanos;
+    private final double slowLogSampleRate;
+
+    public QueryStatsListener(MeterRegistry registry, SqlInstrumentationProperties properties) {
+        this.statements = Timer.builder("db.statements")
+                .description("JDBC statements executed")
+                .register(registry);
+        this.slowStatements = Counter.builder("db.statements.slow")
+                .description("JDBC statements slower than app.datasource.instrumentation.slow-query-threshold")
+                .register(registry);
+        this.slowThresholdNanos = properties.getSlowQueryThreshold().toNanos();
+        this.slowLogSampleRate = properties.getSlowQuerySampleRate();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = execInfo.getElapsedTime();
+        String sql = queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery();
+
+        statements.record(nanos, TimeUnit.NANOSECONDS);
+
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.record(sql, nanos);
+        }
+
+        if (nanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            // parameters are left out, they can hold user data
+            if (slowLogSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < slowLogSampleRate) {
+                log.warn("Slow statement took {} ms{}: {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                        execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Hands out connections for read-only transactions: a healthy replica in round robin, or the
+// primary when the user wrote recently or no replica is up. Replicas count as down until the
+// first health check passes, and a replica marked down is skipped without a connection attempt.
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Duration healthCheckInterval;
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWrites, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.readYourWrites = readYourWrites;
+        this.healthCheckInterval = healthCheckInterval;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        checkHealth();
+
+        long intervalMs = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = readYourWrites.wroteRecently() ? null : nextHealthyReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException | RuntimeException e) {
+            markDown(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+    // the replica pools only know their own credentials, explicit ones can only be for the primary
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                boolean valid = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+                if (valid && !replica.healthy) {
+                    log.info("Replica {} is back, routing reads to it again", replica.name);
+                }
+                replica.healthy = valid;
+            } catch (SQLException | RuntimeException e) {
+                markDown(replica, e);
+            }
+        }
+    }
+
+    // the replica pools are created for this data source and are not beans, so closing them is up to it
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close replica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // a pool that never connected throws its initialization failure unchecked
+    private static void markDown(Replica replica, Exception e) {
+        if (replica.healthy) {
+            log.warn("Replica {} is unavailable, routing its reads to the primary: {}", replica.name, e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
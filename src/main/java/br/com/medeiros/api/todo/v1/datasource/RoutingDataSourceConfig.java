@@ -0,0 +1,91 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(RoutingDataSourceProperties properties) {
+        return new ReadYourWritesTracker(properties.getReadYourWritesWindow(), properties.getReadYourWritesMaxUsers());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             RoutingDataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            var replica = properties.getReplicas().get(i);
+            var dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker,
+                properties.getHealthCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        return readWriteSplitting(primaryDataSource, replicaRoutingDataSource, readYourWritesTracker);
+    }
+
+    // The lazy proxy only fetches a physical connection on the first statement, after the
+    // transaction manager has flagged it read-only, and sends read-only ones to the replicas
+    public static DataSource readWriteSplitting(DataSource primary, DataSource replicas,
+                                                ReadYourWritesTracker readYourWritesTracker) {
+        DataSource writes = new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (TransactionSynchronizationManager.isActualTransactionActive()
+                        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    readYourWritesTracker.markWrite();
+                }
+                return super.getConnection();
+            }
+        };
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(writes);
+        proxy.setReadOnlyDataSource(replicas);
+        return proxy;
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import net.ttddyy.dsproxy.proxy.NanoTimeStopwatchFactory;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+// Replaces spring.jpa.show-sql: every statement on the application DataSource goes through
+// datasource-proxy and is attributed to the request that ran it
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.instrumentation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlInstrumentationProperties.class)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public QueryStatsListener queryStatsListener(MeterRegistry registry, SqlInstrumentationProperties properties) {
+        return new QueryStatsListener(registry, properties);
+    }
+
+    // only the bean Hibernate uses; with replicas that is the routing proxy, so both sides are counted
+    @Bean
+    public static BeanPostProcessor queryStatsDataSourceWrapper(ObjectProvider<QueryStatsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                var proxy = new ProxyDataSource(dataSource);
+                proxy.setProxyConfig(ProxyConfig.Builder.create()
+                        .dataSourceName(beanName)
+                        .queryListener(listener.getObject())
+                        .stopwatchFactory(new NanoTimeStopwatchFactory())
+                        .build());
+                return proxy;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(MeterRegistry registry,
+                                                                     SqlInstrumentationProperties properties) {
+        var registration = new FilterRegistrationBean<>(new QueryStatsFilter(registry, properties.isServerTiming()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+    // picked up by the MVC async executor, which writes the streamed exports
+    @Bean
+    public TaskDecorator queryStatsTaskDecorator() {
+        return QueryStats::wrap;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.datasource.instrumentation")
+public class SqlInstrumentationProperties {
+
+    private boolean enabled = true;
+    private boolean serverTiming = false;
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+    private double slowQuerySampleRate = 1.0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isServerTiming() {
+        return serverTiming;
+    }
+
+    public void setServerTiming(boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    public Duration getSlowQueryThreshold() {
+        return slowQueryThreshold;
+    }
+
+    public void setSlowQueryThreshold(Duration slowQueryThreshold) {
+        this.slowQueryThreshold = slowQueryThreshold;
+    }
+
+    public double getSlowQuerySampleRate() {
+        return slowQuerySampleRate;
+    }
+
+    public void setSlowQuerySampleRate(double slowQuerySampleRate) {
+        this.slowQuerySampleRate = slowQuerySampleRate;
+    }
+}
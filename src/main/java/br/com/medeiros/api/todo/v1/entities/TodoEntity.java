@@ -1,13 +1,22 @@
 package br.com.medeiros.api.todo.v1.entities;
 
+import br.com.medeiros.api.todo.v1.config.SecondLevelCacheConfig;
 import br.com.medeiros.api.todo.v1.enums.TodoStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "todos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.TODOS_REGION)
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_todos_user_status_created", columnList = "user_id, status, created_at")
+})
 public class TodoEntity {
 
     public TodoEntity() {
@@ -51,6 +60,11 @@ public class TodoEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Long getId() {
         return id;
     }
@@ -106,4 +120,12 @@ public class TodoEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
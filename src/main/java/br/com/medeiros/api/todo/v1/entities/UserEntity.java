@@ -1,7 +1,11 @@
 package br.com.medeiros.api.todo.v1.entities;
 
+import br.com.medeiros.api.todo.v1.config.SecondLevelCacheConfig;
 import br.com.medeiros.api.todo.v1.enums.Role;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -9,6 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS_REGION)
 @Table(name = "users")
 public class UserEntity {
 
@@ -52,6 +58,12 @@ public class UserEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // bumped on every write to the user's todos, drives the ETag of the todo list;
+    // only UserRepositoryImpl.incrementTodosVersion writes it
+    @ColumnDefault("0")
+    @Column(name = "todos_version", nullable = false, updatable = false)
+    private long todosVersion;
+
     public void addTodo(TodoEntity todo){
         todos.add(todo);
         todo.setUser(this);
@@ -117,4 +129,12 @@ public class UserEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public long getTodosVersion() {
+        return todosVersion;
+    }
+
+    public void setTodosVersion(long todosVersion) {
+        this.todosVersion = todosVersion;
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.medeiros.api.todo.v1.enums;
+
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    JSON("application/json", "json"),
+    XML("application/xml", "xml"),
+    YAML("application/x-yaml", "yaml"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BadRequestException("Unsupported export format: " + value);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.medeiros.api.todo.v1.enums;
+
+public enum OperationMode {
+    // every operation is applied or none is
+    ATOMIC,
+    // every operation that can be applied is, the others only report their error
+    BEST_EFFORT
+}
@@ -0,0 +1,7 @@
+package br.com.medeiros.api.todo.v1.enums;
+
+public enum OperationType {
+    CREATE,
+    UPDATE,
+    DELETE
+}
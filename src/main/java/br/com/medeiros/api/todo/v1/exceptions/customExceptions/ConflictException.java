@@ -0,0 +1,11 @@
+package br.com.medeiros.api.todo.v1.exceptions.customExceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class ConflictException extends CustomException {
+    private static final long serialVersionUID = 1L;
+
+	public static final ConflictException INSTANCE = new ConflictException();
+
+	public ConflictException() {super("Todo was changed by another request, read it again and retry", HttpStatus.CONFLICT, "Conflict");}
+}
@@ -7,8 +7,10 @@ public class CustomException extends RuntimeException{
 	private final HttpStatus status;
     private final String error;
 
+    // these are expected outcomes (404s from id scans, 412s, 429s) that become a response and
+    // are never logged, so no stack trace is captured; real failures keep theirs
     public CustomException(String message, HttpStatus status, String error){
-        super(message);
+        super(message, null, false, false);
         this.status = status;
         this.error = error;
     }
@@ -5,5 +5,8 @@ import org.springframework.http.HttpStatus;
 public class NotFoundId extends CustomException{
     private static final long serialVersionUID = 1L;
 
-	public NotFoundId() {super("ID does not exists", HttpStatus.BAD_REQUEST, "Bad Request");}
+	// stackless and immutable, so one instance can be thrown everywhere
+	public static final NotFoundId INSTANCE = new NotFoundId();
+
+	public NotFoundId() {super("ID does not exists", HttpStatus.NOT_FOUND, "Not Found");}
 }
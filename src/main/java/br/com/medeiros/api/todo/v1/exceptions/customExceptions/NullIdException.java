@@ -5,5 +5,7 @@ import org.springframework.http.HttpStatus;
 public class NullIdException extends CustomException {
     private static final long serialVersionUID = 1L;
 
+	public static final NullIdException INSTANCE = new NullIdException();
+
 	public NullIdException(){super("ID is null", HttpStatus.BAD_REQUEST, "Bad Request");}
 }
@@ -0,0 +1,11 @@
+package br.com.medeiros.api.todo.v1.exceptions.customExceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class PreconditionFailedException extends CustomException {
+    private static final long serialVersionUID = 1L;
+
+	public static final PreconditionFailedException INSTANCE = new PreconditionFailedException();
+
+	public PreconditionFailedException() {super("Todo was modified since it was read", HttpStatus.PRECONDITION_FAILED, "Precondition Failed");}
+}
@@ -0,0 +1,18 @@
+package br.com.medeiros.api.todo.v1.exceptions.customExceptions;
+
+import org.springframework.http.HttpStatus;
+
+// answered with a Retry-After header
+public class RetryableException extends CustomException {
+    private static final long serialVersionUID = 1L;
+    private final long retryAfterSeconds;
+
+    public RetryableException(String message, HttpStatus status, String error, long retryAfterSeconds) {
+        super(message, status, error);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
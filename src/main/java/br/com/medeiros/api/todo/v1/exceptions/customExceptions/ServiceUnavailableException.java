@@ -0,0 +1,9 @@
+package br.com.medeiros.api.todo.v1.exceptions.customExceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends RetryableException {
+    private static final long serialVersionUID = 1L;
+
+	public ServiceUnavailableException(String message, long retryAfterSeconds) {super(message, HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", retryAfterSeconds);}
+}
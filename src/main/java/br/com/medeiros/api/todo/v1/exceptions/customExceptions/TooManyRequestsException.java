@@ -0,0 +1,9 @@
+package br.com.medeiros.api.todo.v1.exceptions.customExceptions;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyRequestsException extends RetryableException {
+    private static final long serialVersionUID = 1L;
+
+	public TooManyRequestsException(long retryAfterSeconds) {super("Too many attempts, try again later", HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", retryAfterSeconds);}
+}
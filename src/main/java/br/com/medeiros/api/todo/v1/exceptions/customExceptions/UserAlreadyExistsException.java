@@ -4,6 +4,8 @@ import org.springframework.http.HttpStatus;
 
 public class UserAlreadyExistsException extends CustomException {
 
+    public static final UserAlreadyExistsException INSTANCE = new UserAlreadyExistsException();
+
     public UserAlreadyExistsException() {super("User Already Exists", HttpStatus.CONFLICT, "Conflict");}
 
 }
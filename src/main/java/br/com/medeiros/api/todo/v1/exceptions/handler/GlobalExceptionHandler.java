@@ -1,24 +1,72 @@
 package br.com.medeiros.api.todo.v1.exceptions.handler;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.CustomException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.ConflictException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.InvalidCredentialsException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NotFoundId;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NullIdException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.PreconditionFailedException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.RetryableException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.ServiceUnavailableException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.TooManyRequestsException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.UserAlreadyExistsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 
 @ControllerAdvice
 @RestController
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private static final List<Class<? extends CustomException>> KNOWN_EXCEPTIONS = List.of(
+            BadRequestException.class, ConflictException.class, InvalidCredentialsException.class, NotFoundId.class,
+            NullIdException.class, PreconditionFailedException.class, ServiceUnavailableException.class,
+            TooManyRequestsException.class, UserAlreadyExistsException.class);
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+    // counters for the known types exist from startup, so handling one is a map lookup
+    public GlobalExceptionHandler(MeterRegistry registry) {
+        this.registry = registry;
+        KNOWN_EXCEPTIONS.forEach(this::exceptionCounter);
+    }
+
+    private Counter exceptionCounter(Class<?> type) {
+        Counter counter = exceptionCounters.get(type);
+        if (counter == null) {
+            counter = exceptionCounters.computeIfAbsent(type, key -> Counter.builder("api.exceptions")
+                    .description("CustomExceptions answered by GlobalExceptionHandler")
+                    .tag("exception", key.getSimpleName())
+                    .register(registry));
+        }
+        return counter;
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ExceptionResponse> handleValidationExceptions(
@@ -42,6 +90,9 @@ public class GlobalExceptionHandler {
         Exception ex,
         HttpServletRequest request){
 
+        // the only place an unexpected failure is reported, keep its full stack trace
+        log.error("Unhandled exception on {} {}", request.getMethod(), request.getRequestURI(), ex);
+
         ExceptionResponse body = new ExceptionResponse(
                 HttpStatus.INTERNAL_SERVER_ERROR.value(),
                 "Internal Server Error",
@@ -51,18 +102,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
     }   
 
+    // expected errors: the exception is stackless and carries everything the response needs,
+    // so nothing is looked up or logged here
     @ExceptionHandler(CustomException.class)
     public ResponseEntity<ExceptionResponse> handleCustomExceptions(
         CustomException ex,
         HttpServletRequest request
 ) {
+        exceptionCounter(ex.getClass()).increment();
+
         ExceptionResponse body = new ExceptionResponse(
                 ex.getStatus().value(),
                 ex.getError(),
                 ex.getMessage(),
                 request.getRequestURI());
 
-        return ResponseEntity.status(ex.getStatus().value()).body(body);
+        return ResponseEntity.status(ex.getStatus()).body(body);
+    }
+
+    @ExceptionHandler(RetryableException.class)
+    public ResponseEntity<ExceptionResponse> RetryableException(
+        RetryableException ex,
+        HttpServletRequest request
+) {
+        exceptionCounter(ex.getClass()).increment();
+
+        ExceptionResponse body = new ExceptionResponse(
+                ex.getStatus().value(),
+                ex.getError(),
+                ex.getMessage(),
+                request.getRequestURI());
+
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(body);
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -112,4 +185,36 @@ public class GlobalExceptionHandler {
 
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ExceptionResponse> MethodArgumentTypeMismatchException(
+        MethodArgumentTypeMismatchException ex,
+        HttpServletRequest request
+) {
+
+        ExceptionResponse body = new ExceptionResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "Invalid value for " + ex.getName(),
+                request.getRequestURI());
+
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ExceptionResponse> MissingServletRequestParameterException(
+        MissingServletRequestParameterException ex,
+        HttpServletRequest request
+) {
+
+        ExceptionResponse body = new ExceptionResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                "Missing parameter " + ex.getParameterName(),
+                request.getRequestURI());
+
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
 }
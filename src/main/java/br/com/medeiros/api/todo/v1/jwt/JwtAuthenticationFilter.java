@@ -1,27 +1,35 @@
 package br.com.medeiros.api.todo.v1.jwt;
 
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
-import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
+import br.com.medeiros.api.todo.v1.security.TokenRevocations;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final TokenRevocations tokenRevocations;
+    private final Timer verifyTimer;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, TokenRevocations tokenRevocations, MeterRegistry registry) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.tokenRevocations = tokenRevocations;
+        this.verifyTimer = Timer.builder("jwt.verification")
+                .description("Bearer token verification, cached or not")
+                .publishPercentileHistogram()
+                .register(registry);
     }
 
     @Override
@@ -31,26 +39,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String token = null;
+        Claims claims = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
+            long start = System.nanoTime();
+            claims = jwtUtil.verify(authHeader.substring(7));
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserEntity user = userRepository.findByUsername(username).orElse(null);
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser user = toPrincipal(claims);
 
-            if (user != null && jwtUtil.isTokenValid(token, user)) {
+            if (user != null && !tokenRevocations.isRevoked(user.id(), JwtUtil.issuedAt(claims))) {
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-                        );
+                        new UsernamePasswordAuthenticationToken(user, null, user.authorities());
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // tokens issued before the id and role became claims carry neither and must be renewed
+    private static AuthenticatedUser toPrincipal(Claims claims) {
+        Long id = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+
+        if (id == null || role == null) {
+            return null;
+        }
+
+        return new AuthenticatedUser(id, claims.getSubject(), Role.valueOf(role));
+    }
 }
@@ -1,60 +1,129 @@
 package br.com.medeiros.api.todo.v1.jwt;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 
+import javax.crypto.SecretKey;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    // iat only keeps seconds, revocation needs to tell a logout from a login in the same second
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
 
-    @Value("${jwt.expiration}")
-    private long expirationInMs;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long expirationInMinutes;
+
+    // digest of the token -> its claims, each entry lives until the token's own exp
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expirationInMinutes,
+                   @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.expirationInMinutes = expirationInMinutes;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilExpiration())
+                .build();
+    }
 
     public String generateToken(UserEntity user) {
+        Instant now = Instant.now();
         return Jwts.builder()
                 .setSubject(user.getUsername())
-                .claim("role", user.getRole().name())
-                .setIssuedAt(new Date())
-                .setExpiration(Date.from(
-                        LocalDateTime.now().plusMinutes(expirationInMs)
-                                .atZone(ZoneId.systemDefault()).toInstant()))
-                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.toEpochMilli())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(Duration.ofMinutes(expirationInMinutes))))
+                .signWith(key)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    // signature and exp are checked once per token, repeated requests are served from the cache;
+    // returns null for anything that is not a valid, unexpired token
+    public Claims verify(String token) {
+        String digest = digest(token);
+
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
+
+        verifiedTokens.put(digest, claims);
+        return claims;
+    }
+
+    // tokens issued before the millisecond claim existed fall back to iat
+    public static Instant issuedAt(Claims claims) {
+        Long millis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (millis != null) {
+            return Instant.ofEpochMilli(millis);
+        }
+        return claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant();
     }
 
-    public boolean isTokenValid(String token, UserEntity user) {
-        final String username = extractUsername(token);
-        return (username.equals(user.getUsername()) &&
-                !isTokenExpired(token));
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+    private static final class UntilExpiration implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String digest, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(millis, 0)).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
 }
@@ -0,0 +1,59 @@
+package br.com.medeiros.api.todo.v1.ratelimit;
+
+import br.com.medeiros.api.todo.v1.exceptions.ExceptionResponse;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// per-IP limit on login and register, checked before the body is even read;
+// the per-username limit needs the body and is applied by the controllers
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN = "/api/todos/v1/auth/login";
+    private static final String REGISTER = "/api/todos/v1/auth/register";
+
+    private final AuthRateLimiter authRateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public AuthRateLimitFilter(AuthRateLimiter authRateLimiter, ObjectMapper objectMapper) {
+        this.authRateLimiter = authRateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !"POST".equals(request.getMethod()) || !(path.equals(LOGIN) || path.equals(REGISTER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try {
+            authRateLimiter.checkIp(request.getRemoteAddr());
+        } catch (TooManyRequestsException ex) {
+            ExceptionResponse body = new ExceptionResponse(
+                    ex.getStatus().value(),
+                    ex.getError(),
+                    ex.getMessage(),
+                    request.getRequestURI());
+
+            response.setStatus(ex.getStatus().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), body);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.medeiros.api.todo.v1.ratelimit;
+
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class AuthRateLimiter {
+
+    private final boolean enabled;
+    private final RateLimiter byIp;
+    private final RateLimiter byUsername;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+
+    public AuthRateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.byIp = new RateLimiter(properties.getIp(), properties.getIdleTimeout(), properties.getMaxKeys(), System::nanoTime);
+        this.byUsername = new RateLimiter(properties.getUsername(), properties.getIdleTimeout(), properties.getMaxKeys(), System::nanoTime);
+
+        this.ipRejections = Counter.builder("auth.rate.limit.rejected").tag("key", "ip").register(registry);
+        this.usernameRejections = Counter.builder("auth.rate.limit.rejected").tag("key", "username").register(registry);
+        Gauge.builder("auth.rate.limit.buckets", byIp, RateLimiter::size).tag("key", "ip").register(registry);
+        Gauge.builder("auth.rate.limit.buckets", byUsername, RateLimiter::size).tag("key", "username").register(registry);
+    }
+
+    public void checkIp(String ip) {
+        check(byIp, ipRejections, ip);
+    }
+
+    public void checkUsername(String username) {
+        if (username != null) {
+            check(byUsername, usernameRejections, username.strip().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void check(RateLimiter limiter, Counter rejections, String key) {
+        if (!enabled) {
+            return;
+        }
+
+        long waitNanos = limiter.tryAcquire(key);
+
+        if (waitNanos > 0) {
+            rejections.increment();
+            throw new TooManyRequestsException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+    }
+}
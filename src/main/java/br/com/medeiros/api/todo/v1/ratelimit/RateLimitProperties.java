@@ -0,0 +1,86 @@
+package br.com.medeiros.api.todo.v1.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Limit ip = new Limit(20, Duration.ofMinutes(1));
+    private Limit username = new Limit(5, Duration.ofMinutes(1));
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private long maxKeys = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limit getIp() {
+        return ip;
+    }
+
+    public void setIp(Limit ip) {
+        this.ip = ip;
+    }
+
+    public Limit getUsername() {
+        return username;
+    }
+
+    public void setUsername(Limit username) {
+        this.username = username;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public long getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(long maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    // capacity requests, refilled evenly over refill-period
+    public static class Limit {
+
+        private long capacity;
+        private Duration refillPeriod;
+
+        public Limit() {
+        }
+
+        public Limit(long capacity, Duration refillPeriod) {
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.medeiros.api.todo.v1.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+// one bucket per key; buckets of keys that went quiet are evicted, so the map stays bounded
+public class RateLimiter {
+
+    private final RateLimitProperties.Limit limit;
+    private final LongSupplier clock;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties.Limit limit, Duration idleTimeout, long maxKeys, LongSupplier clock) {
+        this.limit = limit;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .maximumSize(maxKeys)
+                .build();
+    }
+
+    public long tryAcquire(String key) {
+        return buckets.get(key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPeriod().toNanos(), clock))
+                .tryAcquire();
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+}
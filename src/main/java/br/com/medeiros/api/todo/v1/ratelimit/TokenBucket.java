@@ -0,0 +1,40 @@
+package br.com.medeiros.api.todo.v1.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+// refilled lazily on each attempt; state is swapped with a CAS so concurrent callers never block
+public class TokenBucket {
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier clock;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long capacity, long refillPeriodNanos, LongSupplier clock) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / refillPeriodNanos;
+        this.clock = clock;
+        this.state = new AtomicReference<>(new State(capacity, clock.getAsLong()));
+    }
+
+    // 0 when a token was taken, otherwise how many nanos until the next one is available
+    public long tryAcquire() {
+        while (true) {
+            State current = state.get();
+            long now = clock.getAsLong();
+            double tokens = Math.min(capacity, current.tokens() + (now - current.refilledAt()) * tokensPerNano);
+
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+
+            if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.medeiros.api.todo.v1.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
+import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
+import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+
+// Hibernate cannot batch inserts of IDENTITY ids, so bulk inserts go through plain JDBC batches
+@Repository
+public class TodoBatchRepository {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_TODO = """
+            INSERT INTO todos (name, description, status, user_id, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, 0)""";
+
+    private static final String UPDATE_TODO = """
+            UPDATE todos
+            SET name = COALESCE(?, name),
+                description = COALESCE(?, description),
+                status = COALESCE(?, status),
+                updated_at = ?,
+                version = version + 1
+            WHERE id = ? AND user_id = ?""";
+
+    private static final String DELETE_TODO = "DELETE FROM todos WHERE id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoCacheLocks todoCacheLocks;
+
+    public TodoBatchRepository(JdbcTemplate jdbcTemplate, TodoCacheLocks todoCacheLocks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.todoCacheLocks = todoCacheLocks;
+    }
+
+    public List<Long> insertAll(List<RequestCreateTodoDto> todos, Long userId) {
+        var ids = new ArrayList<Long>(todos.size());
+        var now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int from = 0; from < todos.size(); from += CHUNK_SIZE) {
+            var chunk = todos.subList(from, Math.min(from + CHUNK_SIZE, todos.size()));
+            var keyHolder = new GeneratedKeyHolder();
+
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_TODO, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            var todo = chunk.get(i);
+                            ps.setString(1, todo.name());
+                            ps.setString(2, todo.description());
+                            ps.setString(3, TodoStatus.PENDING.name());
+                            ps.setLong(4, userId);
+                            ps.setTimestamp(5, now);
+                            ps.setTimestamp(6, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder);
+
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(((Number) keys.values().iterator().next()).longValue());
+            }
+        }
+
+        return ids;
+    }
+
+    // the rows stay locked until the transaction ends, so the versions checked are the ones written;
+    // ids that are missing or belong to someone else are simply absent from the map
+    public Map<Long, Long> lockVersions(Long userId, Collection<Long> ids) {
+        var sql = "SELECT id, version FROM todos WHERE user_id = ? AND id IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") FOR UPDATE";
+        var args = new ArrayList<Object>(ids.size() + 1);
+        args.add(userId);
+        args.addAll(ids);
+
+        var versions = new HashMap<Long, Long>();
+        jdbcTemplate.query(sql, rs -> {
+            versions.put(rs.getLong(1), rs.getLong(2));
+        }, args.toArray());
+        return versions;
+    }
+
+    public void updateAll(List<Long> ids, List<RequestUpdateTodoByIdDto> updates, Long userId) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        todoCacheLocks.lock(ids);
+
+        jdbcTemplate.batchUpdate(UPDATE_TODO, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                var update = updates.get(i);
+                ps.setString(1, update.name());
+                ps.setString(2, update.description());
+                ps.setString(3, update.status() == null ? null : update.status().name());
+                ps.setTimestamp(4, now);
+                ps.setLong(5, ids.get(i));
+                ps.setLong(6, userId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+
+    public void deleteAll(List<Long> ids, Long userId) {
+        todoCacheLocks.lock(ids);
+
+        jdbcTemplate.batchUpdate(DELETE_TODO, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+                ps.setLong(2, userId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.size();
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.medeiros.api.todo.v1.repositories;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import jakarta.persistence.EntityManager;
+
+// JDBC writes bypass Hibernate, so they take the soft locks a Hibernate update of the todo would.
+// Locking replaces the cached copy before the statement runs, and until the transaction is over
+// (plus, once unlocked, for any load that started before) no reader can put an old row back.
+// Evicting after commit alone let a read that started before the commit cache the old row.
+@Component
+public class TodoCacheLocks {
+
+    private final EntityManager entityManager;
+
+    public TodoCacheLocks(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // call inside the write's transaction, before the statement
+    public void lock(Collection<Long> ids) {
+        var session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        var factory = session.getFactory();
+        var persister = factory.getMappingMetamodel().getEntityDescriptor(TodoEntity.class);
+        var access = persister.getCacheAccessStrategy();
+        if (access == null || ids.isEmpty()) {
+            return;
+        }
+
+        Map<Object, SoftLock> locks = new HashMap<>();
+        for (Long id : ids) {
+            var key = access.generateCacheKey(id, persister, factory, session.getTenantIdentifier());
+            locks.put(key, access.lockItem(session, key, null));
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            locks.keySet().forEach(access::evict);
+            return;
+        }
+
+        // on rollback too, the lock would otherwise keep the todo out of the cache until it times out
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locks.forEach((key, lock) -> access.unlockItem(session, key, lock));
+            }
+        });
+    }
+}
@@ -1,13 +1,49 @@
 package br.com.medeiros.api.todo.v1.repositories;
 
 import br.com.medeiros.api.todo.v1.entities.TodoEntity;
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TodoRepository extends JpaRepository<TodoEntity, Long> {
-    List<TodoEntity> findByUser(UserEntity user);
+public interface TodoRepository extends JpaRepository<TodoEntity, Long>, TodoRepositoryCustom {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            // an export reads every todo once, it must not push the hot entries out of the todos region
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("""
+            SELECT t FROM TodoEntity t
+            WHERE t.user.id = :userId
+            ORDER BY t.createdAt ASC, t.id ASC""")
+    Stream<TodoEntity> streamByUserId(@Param("userId") Long userId);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT t.version FROM TodoEntity t WHERE t.id = :id AND t.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // backed by the FULLTEXT index created in FullTextIndexConfig, MySQL only
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT t.* FROM todos t
+            WHERE t.user_id = :userId
+              AND MATCH(t.name, t.description) AGAINST (:query IN NATURAL LANGUAGE MODE)
+            ORDER BY MATCH(t.name, t.description) AGAINST (:query IN NATURAL LANGUAGE MODE) DESC, t.id ASC
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<TodoEntity> search(@Param("userId") Long userId,
+                            @Param("query") String query,
+                            @Param("limit") int limit,
+                            @Param("offset") int offset);
 }
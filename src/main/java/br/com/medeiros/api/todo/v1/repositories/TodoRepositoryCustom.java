@@ -0,0 +1,16 @@
+package br.com.medeiros.api.todo.v1.repositories;
+
+import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
+import br.com.medeiros.api.todo.v1.data.TodoCursor;
+import br.com.medeiros.api.todo.v1.data.TodoFilter;
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+
+import java.util.List;
+
+public interface TodoRepositoryCustom {
+    List<TodoEntity> findPage(Long userId, TodoFilter filter, TodoCursor after, int limit, boolean withDescription);
+
+    int updateOwned(Long id, Long userId, RequestUpdateTodoByIdDto update, Long expectedVersion);
+
+    int deleteOwned(Long id, Long userId);
+}
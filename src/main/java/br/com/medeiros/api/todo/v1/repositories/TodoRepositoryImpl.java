@@ -0,0 +1,145 @@
+package br.com.medeiros.api.todo.v1.repositories;
+
+import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
+import br.com.medeiros.api.todo.v1.data.TodoCursor;
+import br.com.medeiros.api.todo.v1.data.TodoFilter;
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TodoRepositoryImpl implements TodoRepositoryCustom {
+
+    private static final String UPDATE_OWNED = """
+            UPDATE todos
+            SET name = COALESCE(?, name),
+                description = COALESCE(?, description),
+                status = COALESCE(?, status),
+                updated_at = ?,
+                version = version + 1
+            WHERE id = ? AND user_id = ?""";
+
+    private static final String DELETE_OWNED = "DELETE FROM todos WHERE id = ? AND user_id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TodoCacheLocks todoCacheLocks;
+
+    public TodoRepositoryImpl(JdbcTemplate jdbcTemplate, TodoCacheLocks todoCacheLocks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.todoCacheLocks = todoCacheLocks;
+    }
+
+    // only the predicates that were asked for are emitted, so every combination stays
+    // a range scan on idx_todos_user_created_id or idx_todos_user_status_created
+    @Override
+    @Transactional(readOnly = true)
+    public List<TodoEntity> findPage(Long userId, TodoFilter filter, TodoCursor after, int limit, boolean withDescription) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        if (withDescription) {
+            CriteriaQuery<TodoEntity> query = cb.createQuery(TodoEntity.class);
+            Root<TodoEntity> todo = query.from(TodoEntity.class);
+            query.select(todo);
+            // pages are read once per request, filling the todos region with them would push out
+            // the entries single-todo reads keep hitting
+            return entityManager.createQuery(page(cb, query, todo, userId, filter, after))
+                    .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+
+        // description is the only wide column, a list that doesn't show it never reads it;
+        // the rows come back as detached entities holding just the selected columns
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TodoEntity> todo = query.from(TodoEntity.class);
+        query.multiselect(todo.get("id"), todo.get("name"), todo.get("status"), todo.get("createdAt"));
+
+        return entityManager.createQuery(page(cb, query, todo, userId, filter, after))
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(TodoRepositoryImpl::toEntity)
+                .toList();
+    }
+
+    // Ownership (and the If-Match version) are checked by the statement itself, in the same round trip
+    // as the write; zero rows means missing, not owned or changed. Plain JDBC so only this todo's
+    // cache entry is locked, where a JPQL UPDATE would drop the whole region at commit.
+    @Override
+    public int updateOwned(Long id, Long userId, RequestUpdateTodoByIdDto update, Long expectedVersion) {
+        todoCacheLocks.lock(List.of(id));
+
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        var status = update.status() == null ? null : update.status().name();
+        if (expectedVersion == null) {
+            return jdbcTemplate.update(UPDATE_OWNED,
+                    update.name(), update.description(), status, now, id, userId);
+        }
+        return jdbcTemplate.update(UPDATE_OWNED + " AND version = ?",
+                update.name(), update.description(), status, now, id, userId, expectedVersion);
+    }
+
+    @Override
+    public int deleteOwned(Long id, Long userId) {
+        todoCacheLocks.lock(List.of(id));
+        return jdbcTemplate.update(DELETE_OWNED, id, userId);
+    }
+
+    private static <T> CriteriaQuery<T> page(CriteriaBuilder cb, CriteriaQuery<T> query, Root<TodoEntity> todo,
+                                             Long userId, TodoFilter filter, TodoCursor after) {
+        Path<LocalDateTime> createdAt = todo.get("createdAt");
+        Path<Long> id = todo.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(todo.get("user").get("id"), userId));
+
+        if (filter.status() != null) {
+            predicates.add(cb.equal(todo.get("status"), filter.status()));
+        }
+        if (filter.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.createdTo()));
+        }
+        if (after != null) {
+            predicates.add(filter.descending()
+                    ? cb.or(cb.lessThan(createdAt, after.createdAt()),
+                            cb.and(cb.equal(createdAt, after.createdAt()), cb.lessThan(id, after.id())))
+                    : cb.or(cb.greaterThan(createdAt, after.createdAt()),
+                            cb.and(cb.equal(createdAt, after.createdAt()), cb.greaterThan(id, after.id()))));
+        }
+
+        return query
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(filter.descending()
+                        ? List.of(cb.desc(createdAt), cb.desc(id))
+                        : List.of(cb.asc(createdAt), cb.asc(id)));
+    }
+
+    private static TodoEntity toEntity(Tuple row) {
+        var todo = new TodoEntity();
+        todo.setId(row.get(0, Long.class));
+        todo.setName(row.get(1, String.class));
+        todo.setStatus(row.get(2, TodoStatus.class));
+        todo.setCreatedAt(row.get(3, LocalDateTime.class));
+        return todo;
+    }
+}
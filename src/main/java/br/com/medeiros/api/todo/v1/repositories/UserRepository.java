@@ -2,12 +2,22 @@ package br.com.medeiros.api.todo.v1.repositories;
 
 import br.com.medeiros.api.todo.v1.entities.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserRepositoryCustom {
+    // not read-only, so with replicas it reads the primary: a replica still behind a registration
+    // or a password change would fail the login that follows it
+    @Transactional
     Optional<UserEntity> findByUsername(String username);
+
+    @Transactional(readOnly = true)
+    @Query("SELECT u.todosVersion FROM UserEntity u WHERE u.id = :id")
+    Optional<Long> findTodosVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,7 @@
+package br.com.medeiros.api.todo.v1.repositories;
+
+public interface UserRepositoryCustom {
+    int updatePassword(Long id, String password);
+
+    int incrementTodosVersion(Long id);
+}
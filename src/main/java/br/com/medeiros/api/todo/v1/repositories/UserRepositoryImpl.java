@@ -0,0 +1,34 @@
+package br.com.medeiros.api.todo.v1.repositories;
+
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+// A JPQL UPDATE makes Hibernate drop the whole users region at commit, and todosVersion is bumped
+// on every todo write. These run as plain JDBC instead, so only the row that changed is affected.
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public UserRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // a cached copy would keep the old hash
+    @Override
+    @Transactional
+    public int updatePassword(Long id, String password) {
+        int updated = jdbcTemplate.update("UPDATE users SET password = ? WHERE id = ?", password, id);
+        entityManagerFactory.getCache().evict(UserEntity.class, id);
+        return updated;
+    }
+
+    // todosVersion is not updatable through the entity, so a cached user never writes back an old value
+    @Override
+    public int incrementTodosVersion(Long id) {
+        return jdbcTemplate.update("UPDATE users SET todos_version = todos_version + 1 WHERE id = ?", id);
+    }
+}
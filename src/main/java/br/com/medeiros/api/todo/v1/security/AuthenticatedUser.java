@@ -0,0 +1,21 @@
+package br.com.medeiros.api.todo.v1.security;
+
+import br.com.medeiros.api.todo.v1.enums.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+// built from the signed token claims, never loaded from the database
+public record AuthenticatedUser(Long id, String username, Role role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
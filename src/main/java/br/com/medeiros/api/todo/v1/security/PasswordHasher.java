@@ -0,0 +1,114 @@
+package br.com.medeiros.api.todo.v1.security;
+
+import br.com.medeiros.api.todo.v1.datasource.QueryStats;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// BCrypt runs on its own small pool so a burst of logins cannot take every request thread;
+// once the queue is full callers are turned away with 503 instead of piling up. The pool only
+// hashes: the callers' callbacks, and their database work, run on the application task executor
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final Executor callbackExecutor;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry registry,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor callbackExecutor,
+                          @Value("${app.security.password.strength:10}") int strength,
+                          @Value("${app.security.password.threads:0}") int threads,
+                          @Value("${app.security.password.queue-capacity:64}") int queueCapacity,
+                          @Value("${app.security.password.retry-after:1s}") Duration retryAfter) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.retryAfterSeconds = Math.max(retryAfter.toSeconds(), 1);
+        this.callbackExecutor = callbackExecutor;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        ExecutorServiceMetrics.monitor(registry, executor, "password-hashing");
+        this.hashTimer = Timer.builder("password.hashing").tag("operation", "hash")
+                .publishPercentileHistogram().register(registry);
+        this.verifyTimer = Timer.builder("password.hashing").tag("operation", "verify")
+                .publishPercentileHistogram().register(registry);
+        this.rejected = Counter.builder("password.hashing.rejected").register(registry);
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(hashTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(verifyTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // BCrypt hashes look like $2a$10$..., the two digits after the version are the cost
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(6) != '$') {
+            return true;
+        }
+
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> task) {
+        // captured here, on the request thread: the callbacks belong to the caller's request
+        Executor callbacks = new DelegatingSecurityContextExecutor(
+                command -> callbackExecutor.execute(QueryStats.wrap(command)), SecurityContextHolder.getContext());
+        try {
+            return CompletableFuture.supplyAsync(() -> timer.record(task),
+                            command -> executor.execute(QueryStats.wrap(command)))
+                    .thenApplyAsync(Function.identity(), callbacks);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Too many authentication requests, try again later", retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
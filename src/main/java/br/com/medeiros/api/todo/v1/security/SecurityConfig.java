@@ -1,8 +1,16 @@
 package br.com.medeiros.api.todo.v1.security;
 
+import br.com.medeiros.api.todo.v1.enums.Role;
 import br.com.medeiros.api.todo.v1.jwt.JwtAuthenticationFilter;
 import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
-import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import br.com.medeiros.api.todo.v1.ratelimit.AuthRateLimitFilter;
+import br.com.medeiros.api.todo.v1.ratelimit.AuthRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -20,11 +28,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private JwtUtil jwtUtil;
-    private UserRepository userRepository;
+    private TokenRevocations tokenRevocations;
+    private AuthRateLimiter authRateLimiter;
+    private ObjectMapper objectMapper;
+    private MeterRegistry meterRegistry;
 
-    public SecurityConfig(JwtUtil jwtUtil, UserRepository userRepository) {
+    public SecurityConfig(JwtUtil jwtUtil, TokenRevocations tokenRevocations,
+                          AuthRateLimiter authRateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
+        this.tokenRevocations = tokenRevocations;
+        this.authRateLimiter = authRateLimiter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -32,9 +47,15 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // the request was authorized before it went async (exports, login); with no session
+                        // the dispatch that writes its response carries no authentication to check again
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/todos/v1/auth/logout").authenticated()
+                        // only health is public; metrics and prometheus describe every route and user's traffic
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole(Role.ADMIN.name())
                         .requestMatchers(
                                 "/api/todos/v1/auth/**",
-                                "/actuator/**",
                                 "/",
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
@@ -47,14 +68,17 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 );
 
-        http.addFilterBefore(new JwtAuthenticationFilter(jwtUtil, userRepository),
+        http.addFilterBefore(new AuthRateLimitFilter(authRateLimiter, objectMapper),
+                UsernamePasswordAuthenticationFilter.class);
+
+        http.addFilterBefore(new JwtAuthenticationFilter(jwtUtil, tokenRevocations, meterRegistry),
                 UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.password.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
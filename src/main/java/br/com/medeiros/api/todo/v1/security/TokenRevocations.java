@@ -0,0 +1,37 @@
+package br.com.medeiros.api.todo.v1.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// tokens are not looked up per request, so logging out or changing a user's role revokes every
+// token issued to that user up to now. An entry only has to outlive the tokens it revokes, and
+// the map is bounded; it is held per instance
+@Component
+public class TokenRevocations {
+
+    private final Cache<Long, Instant> revokedBefore;
+
+    public TokenRevocations(@Value("${jwt.expiration}") long expirationInMinutes,
+                            @Value("${jwt.revocation.max-size:100000}") long maxSize) {
+        this.revokedBefore = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(Math.max(expirationInMinutes, 1)))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public void revokeAll(Long userId) {
+        revokedBefore.put(userId, Instant.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    // compared in milliseconds, a token issued in the same millisecond as the logout counts as revoked
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        Instant revoked = revokedBefore.getIfPresent(userId);
+        return revoked != null && (issuedAt == null || !issuedAt.isAfter(revoked));
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.medeiros.api.todo.v1.serialization.converter;
+
+import br.com.medeiros.api.todo.v1.data.TodoFields;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+public class CborJackson2HttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    public CborJackson2HttpMessageConverter() {
+        super(
+                new CBORMapper().
+                        registerModule(new JavaTimeModule()).
+                        disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).
+                        setFilterProvider(TodoFields.DEFAULT_FILTERS).
+                        setSerializationInclusion(
+                                JsonInclude.Include.NON_NULL),
+                                MediaType.parseMediaType("application/cbor"));
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.medeiros.api.todo.v1.serialization.converter;
 
+import br.com.medeiros.api.todo.v1.data.TodoFields;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
@@ -13,6 +14,7 @@ public class YamlJackson2HttpMessageConverter extends AbstractJackson2HttpMessag
                 new YAMLMapper().
                         registerModule(new JavaTimeModule()).
                         disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).
+                        setFilterProvider(TodoFields.DEFAULT_FILTERS).
                         setSerializationInclusion(
                                 JsonInclude.Include.NON_NULL),
                                 MediaType.parseMediaType("application/x-yaml"));
@@ -0,0 +1,84 @@
+package br.com.medeiros.api.todo.v1.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.medeiros.api.todo.v1.data.BatchItemResult;
+import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+import br.com.medeiros.api.todo.v1.repositories.TodoBatchRepository;
+import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class TodoBatchService {
+
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private final TodoBatchRepository todoBatchRepository;
+    private final UserRepository userRepository;
+    private final Validator validator;
+
+    public TodoBatchService(TodoBatchRepository todoBatchRepository, UserRepository userRepository, Validator validator) {
+        this.todoBatchRepository = todoBatchRepository;
+        this.userRepository = userRepository;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public List<BatchItemResult> createTodos(List<RequestCreateTodoDto> requests, Long userId) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("batch must contain between 1 and " + MAX_BATCH_SIZE + " todos");
+        }
+
+        var results = new BatchItemResult[requests.size()];
+        var validIndexes = new ArrayList<Integer>(requests.size());
+        var validRequests = new ArrayList<RequestCreateTodoDto>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            var error = validate(request);
+
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, HttpStatus.BAD_REQUEST.value(), error);
+                continue;
+            }
+
+            validIndexes.add(i);
+            validRequests.add(request);
+        }
+
+        if (!validRequests.isEmpty()) {
+            var ids = todoBatchRepository.insertAll(validRequests, userId);
+
+            for (int i = 0; i < ids.size(); i++) {
+                int index = validIndexes.get(i);
+                results[index] = BatchItemResult.created(index, ids.get(i));
+            }
+
+            userRepository.incrementTodosVersion(userId);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private String validate(RequestCreateTodoDto request) {
+        if (request == null) {
+            return "can not be null";
+        }
+
+        var violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        ConstraintViolation<RequestCreateTodoDto> violation = violations.iterator().next();
+        return violation.getPropertyPath() + " " + violation.getMessage();
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.medeiros.api.todo.v1.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.xml.namespace.QName;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlFactory;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import br.com.medeiros.api.todo.v1.enums.ExportFormat;
+import br.com.medeiros.api.todo.v1.repositories.TodoRepository;
+import jakarta.persistence.EntityManager;
+
+@Service
+public class TodoExportService {
+
+    private static final int FLUSH_EVERY = 500;
+    private static final String CSV_HEADER = "id,name,description,status,createdAt\r\n";
+    // same element names Jackson uses for a List<ResponseDto> response
+    private static final QName XML_ROOT = new QName("List");
+    private static final String XML_ITEM = "item";
+
+    private final XmlFactory xmlFactory = new XmlFactory();
+    private final YAMLFactory yamlFactory = new YAMLFactory();
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TodoExportService(TodoRepository todoRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTodos(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<TodoEntity> todos = todoRepository.streamByUserId(userId)) {
+            switch (format) {
+                case NDJSON -> writeNdjson(todos.iterator(), out);
+                case JSON -> writeArray(objectMapper.getFactory(), todos.iterator(), out);
+                case XML -> writeXml(todos.iterator(), out);
+                case YAML -> writeArray(yamlFactory, todos.iterator(), out);
+                case CSV -> writeCsv(todos.iterator(), out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<TodoEntity> todos, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        int written = 0;
+        while (todos.hasNext()) {
+            writeTodo(generator, todos.next());
+            generator.writeRaw('\n');
+
+            if (++written % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+
+        generator.close();
+    }
+
+    private void writeArray(JsonFactory factory, Iterator<TodoEntity> todos, OutputStream out) throws IOException {
+        JsonGenerator generator = factory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartArray();
+        writeItems(generator, todos);
+        generator.writeEndArray();
+
+        generator.close();
+    }
+
+    private void writeXml(Iterator<TodoEntity> todos, OutputStream out) throws IOException {
+        ToXmlGenerator generator = xmlFactory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        // <List><item>...</item><item>...</item></List>, array elements repeat the field name
+        generator.setNextName(XML_ROOT);
+        generator.writeStartObject();
+        generator.writeFieldName(XML_ITEM);
+        generator.writeStartArray();
+        writeItems(generator, todos);
+        generator.writeEndArray();
+        generator.writeEndObject();
+
+        generator.close();
+    }
+
+    private void writeItems(JsonGenerator generator, Iterator<TodoEntity> todos) throws IOException {
+        int written = 0;
+        while (todos.hasNext()) {
+            writeTodo(generator, todos.next());
+
+            if (++written % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+    }
+
+    private void writeTodo(JsonGenerator generator, TodoEntity todo) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", todo.getId());
+        generator.writeStringField("name", todo.getName());
+        if (todo.getDescription() != null) {
+            generator.writeStringField("description", todo.getDescription());
+        }
+        generator.writeStringField("status", todo.getStatus().name());
+        generator.writeStringField("createdAt", DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(todo.getCreatedAt()));
+        generator.writeEndObject();
+
+        // the row is on the wire, keep the persistence context from growing with the export
+        entityManager.detach(todo);
+    }
+
+    private void writeCsv(Iterator<TodoEntity> todos, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+
+        int written = 0;
+        while (todos.hasNext()) {
+            TodoEntity todo = todos.next();
+
+            writer.write(String.valueOf(todo.getId()));
+            writer.write(',');
+            writeCsvField(writer, todo.getName());
+            writer.write(',');
+            writeCsvField(writer, todo.getDescription());
+            writer.write(',');
+            writer.write(todo.getStatus().name());
+            writer.write(',');
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(todo.getCreatedAt()));
+            writer.write("\r\n");
+
+            entityManager.detach(todo);
+
+            if (++written % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+
+        writer.flush();
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        // spreadsheets run a cell that starts with one of these as a formula, the quote keeps it text
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
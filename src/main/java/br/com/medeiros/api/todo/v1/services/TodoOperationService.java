@@ -0,0 +1,230 @@
+package br.com.medeiros.api.todo.v1.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.medeiros.api.todo.v1.data.BatchItemResult;
+import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
+import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
+import br.com.medeiros.api.todo.v1.data.TodoOperation;
+import br.com.medeiros.api.todo.v1.enums.OperationMode;
+import br.com.medeiros.api.todo.v1.enums.OperationType;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.CustomException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NotFoundId;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.PreconditionFailedException;
+import br.com.medeiros.api.todo.v1.repositories.TodoBatchRepository;
+import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import br.com.medeiros.api.todo.v1.util.ETags;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Applies an ordered list of creates, updates and deletes in one transaction. Consecutive
+// operations are grouped into segments where no todo appears twice; inside a segment order
+// does not matter, so each segment costs one locking select and one JDBC batch per type.
+@Service
+public class TodoOperationService {
+
+    public static final int MAX_OPERATIONS = 1000;
+
+    private final TodoBatchRepository todoBatchRepository;
+    private final UserRepository userRepository;
+    private final Validator validator;
+
+    public TodoOperationService(TodoBatchRepository todoBatchRepository, UserRepository userRepository,
+                                Validator validator) {
+        this.todoBatchRepository = todoBatchRepository;
+        this.userRepository = userRepository;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public List<BatchItemResult> applyOperations(List<TodoOperation> operations, OperationMode mode, Long userId) {
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new BadRequestException("operations must contain between 1 and " + MAX_OPERATIONS + " items");
+        }
+
+        boolean atomic = mode != OperationMode.BEST_EFFORT;
+        var results = new BatchItemResult[operations.size()];
+        var segment = new Segment();
+
+        for (int i = 0; i < operations.size(); i++) {
+            var operation = operations.get(i);
+            Long expectedVersion;
+
+            try {
+                expectedVersion = check(operation);
+            } catch (CustomException e) {
+                results[i] = failed(i, e);
+                if (atomic) {
+                    return rollback(results, i);
+                }
+                continue;
+            }
+
+            if (operation.type() != OperationType.CREATE && segment.touches(operation.id())) {
+                int failed = flush(segment, results, atomic, userId);
+                if (failed >= 0) {
+                    return rollback(results, failed);
+                }
+                segment = new Segment();
+            }
+
+            segment.add(i, operation, expectedVersion);
+        }
+
+        int failed = flush(segment, results, atomic, userId);
+        if (failed >= 0) {
+            return rollback(results, failed);
+        }
+
+        if (Arrays.stream(results).anyMatch(result -> result.status() < 300)) {
+            userRepository.incrementTodosVersion(userId);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    // returns the index of the operation that failed an atomic request, or -1
+    private int flush(Segment segment, BatchItemResult[] results, boolean atomic, Long userId) {
+        var versions = segment.ids.isEmpty()
+                ? Map.<Long, Long>of()
+                : todoBatchRepository.lockVersions(userId, segment.ids);
+
+        var updateIds = new ArrayList<Long>();
+        var updates = new ArrayList<RequestUpdateTodoByIdDto>();
+        var deleteIds = new ArrayList<Long>();
+
+        for (var write : segment.writes) {
+            var id = write.operation().id();
+            var version = versions.get(id);
+
+            CustomException error = null;
+            if (version == null) {
+                error = NotFoundId.INSTANCE;
+            } else if (write.expectedVersion() != null && !write.expectedVersion().equals(version)) {
+                error = PreconditionFailedException.INSTANCE;
+            }
+
+            if (error != null) {
+                results[write.index()] = failed(write.index(), error);
+                if (atomic) {
+                    return write.index();
+                }
+                continue;
+            }
+
+            if (write.operation().type() == OperationType.UPDATE) {
+                updateIds.add(id);
+                updates.add(write.operation().update());
+                results[write.index()] = BatchItemResult.updated(write.index(), id, ETags.forTodo(id, version + 1));
+            } else {
+                deleteIds.add(id);
+                results[write.index()] = BatchItemResult.deleted(write.index(), id);
+            }
+        }
+
+        if (!segment.creates.isEmpty()) {
+            var ids = todoBatchRepository.insertAll(segment.creates, userId);
+            for (int i = 0; i < ids.size(); i++) {
+                int index = segment.createIndexes.get(i);
+                results[index] = BatchItemResult.created(index, ids.get(i), ETags.forTodo(ids.get(i), 0));
+            }
+        }
+        if (!updateIds.isEmpty()) {
+            todoBatchRepository.updateAll(updateIds, updates, userId);
+        }
+        if (!deleteIds.isEmpty()) {
+            todoBatchRepository.deleteAll(deleteIds, userId);
+        }
+
+        return -1;
+    }
+
+    // the version, when If-Match was given; the checks that need the database happen in flush
+    private Long check(TodoOperation operation) {
+        if (operation == null || operation.type() == null) {
+            throw new BadRequestException("type must be CREATE, UPDATE or DELETE");
+        }
+
+        if (operation.type() == OperationType.CREATE) {
+            if (operation.create() == null) {
+                throw new BadRequestException("create can not be null");
+            }
+            validate(operation.create());
+            return null;
+        }
+
+        if (operation.id() == null) {
+            throw new BadRequestException("id can not be null");
+        }
+        if (operation.type() == OperationType.UPDATE) {
+            if (operation.update() == null) {
+                throw new BadRequestException("update can not be null");
+            }
+            validate(operation.update());
+        }
+
+        return ETags.expectedVersion(operation.ifMatch(), operation.id());
+    }
+
+    private <T> void validate(T request) {
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<T> violation = violations.iterator().next();
+            throw new BadRequestException(violation.getPropertyPath() + " " + violation.getMessage());
+        }
+    }
+
+    private static BatchItemResult failed(int index, CustomException e) {
+        return BatchItemResult.failed(index, e.getStatus().value(), e.getMessage());
+    }
+
+    private static List<BatchItemResult> rollback(BatchItemResult[] results, int failed) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (i != failed) {
+                results[i] = BatchItemResult.failed(i, HttpStatus.FAILED_DEPENDENCY.value(),
+                        "not applied, operation " + failed + " failed");
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private record Write(int index, TodoOperation operation, Long expectedVersion) {
+    }
+
+    private static final class Segment {
+        private final List<Integer> createIndexes = new ArrayList<>();
+        private final List<RequestCreateTodoDto> creates = new ArrayList<>();
+        private final List<Write> writes = new ArrayList<>();
+        private final Set<Long> ids = new HashSet<>();
+
+        boolean touches(Long id) {
+            return ids.contains(id);
+        }
+
+        void add(int index, TodoOperation operation, Long expectedVersion) {
+            if (operation.type() == OperationType.CREATE) {
+                createIndexes.add(index);
+                creates.add(operation.create());
+            } else {
+                writes.add(new Write(index, operation, expectedVersion));
+                ids.add(operation.id());
+            }
+        }
+    }
+}
@@ -1,65 +1,214 @@
 package br.com.medeiros.api.todo.v1.services;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
 import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
+import br.com.medeiros.api.todo.v1.data.TodoCursor;
+import br.com.medeiros.api.todo.v1.data.TodoFilter;
+import br.com.medeiros.api.todo.v1.data.TodoPage;
 import br.com.medeiros.api.todo.v1.entities.TodoEntity;
-import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NotFoundId;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NullIdException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.PreconditionFailedException;
 import br.com.medeiros.api.todo.v1.repositories.TodoRepository;
+import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class TodoService {
 
-    private final TodoRepository todoRepository;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_SEARCH_SIZE = 20;
+    public static final int MAX_SEARCH_SIZE = 100;
+    public static final int MAX_SEARCH_OFFSET = 10_000;
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
 
-    public TodoService(TodoRepository todoRepository) {
+    private final TodoRepository todoRepository;
+    private final UserRepository userRepository;
+
+    // registered up front and recorded with nanoTime, so timing a call allocates nothing;
+    // the @Transactional methods are timed inside the transaction, the commit is not included
+    private final Timer createTimer;
+    private final Timer findAllTimer;
+    private final Timer findByIdTimer;
+    private final Timer updateTimer;
+    private final Timer deleteTimer;
+    private final DistributionSummary listSize;
+
+    public TodoService(TodoRepository todoRepository, UserRepository userRepository, MeterRegistry registry) {
         this.todoRepository = todoRepository;
+        this.userRepository = userRepository;
+        this.createTimer = timer(registry, "create");
+        this.findAllTimer = timer(registry, "findAll");
+        this.findByIdTimer = timer(registry, "findById");
+        this.updateTimer = timer(registry, "update");
+        this.deleteTimer = timer(registry, "delete");
+        this.listSize = DistributionSummary.builder("todo.list.size")
+                .description("Todos returned per page by findAllTodos")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) MAX_PAGE_SIZE)
+                .register(registry);
     }
 
-    public TodoEntity createTodo(RequestCreateTodoDto req, UserEntity user){
-        var todo = new TodoEntity(req.name(), req.description(), user);
-        var savedTodo = todoRepository.save(todo);
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder("todo.service")
+                .description("TodoService operations")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 
-        if(savedTodo.getId() == null){
-            throw new NullIdException();
+    @Transactional
+    public TodoEntity createTodo(RequestCreateTodoDto req, Long userId){
+        long start = System.nanoTime();
+        try {
+            // a reference is enough to set the foreign key, the user row is not read
+            var todo = new TodoEntity(req.name(), req.description(), userRepository.getReferenceById(userId));
+            var savedTodo = todoRepository.save(todo);
+
+            if(savedTodo.getId() == null){
+                throw NullIdException.INSTANCE;
+            }
+
+            userRepository.incrementTodosVersion(userId);
+            return savedTodo;
+        } finally {
+            record(createTimer, start);
         }
+    }
 
-        return savedTodo;
+    public TodoPage findAllTodos(Long userId, TodoFilter filter, Integer limit, String after, boolean withDescription){
+        long start = System.nanoTime();
+        try {
+            var page = findPage(userId, filter, limit, after, withDescription);
+            listSize.record(page.todos().size());
+            return page;
+        } finally {
+            record(findAllTimer, start);
+        }
     }
 
-    public List<TodoEntity> findAllTodos(UserEntity user){
-        return todoRepository.findByUser(user);
+    private TodoPage findPage(Long userId, TodoFilter filter, Integer limit, String after, boolean withDescription){
+        int pageSize = pageSize(limit);
+        var cursor = after == null ? null : TodoCursor.decode(after);
+
+        // one extra row tells us whether there is a next page without a count query
+        List<TodoEntity> todos = todoRepository.findPage(userId, filter, cursor, pageSize + 1, withDescription);
+
+        if (todos.size() <= pageSize) {
+            return new TodoPage(todos, null);
+        }
+
+        var page = todos.subList(0, pageSize);
+        return new TodoPage(page, TodoCursor.of(page.get(pageSize - 1)));
     }
 
-    public TodoEntity findTodoById(Long id, UserEntity user){
-        TodoEntity todo = todoRepository.findById(id)
-                .orElseThrow(NotFoundId::new);
+    // public so the list can reject a bad limit before it answers 304
+    public static int pageSize(Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return pageSize;
+    }
 
-        if (!todo.getUser().getId().equals(user.getId())) {
-            throw new NotFoundId();
+    public List<TodoEntity> searchTodos(Long userId, String query, Integer limit, Integer offset){
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new BadRequestException("q must have between 1 and " + MAX_SEARCH_QUERY_LENGTH + " characters");
         }
 
-        return todo;
+        int size = limit == null ? DEFAULT_SEARCH_SIZE : limit;
+        int skip = offset == null ? 0 : offset;
+
+        if (size < 1 || size > MAX_SEARCH_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SEARCH_SIZE);
+        }
+        if (skip < 0 || skip > MAX_SEARCH_OFFSET) {
+            throw new BadRequestException("offset must be between 0 and " + MAX_SEARCH_OFFSET);
+        }
+
+        return todoRepository.search(userId, query.strip(), size, skip);
+    }
+
+    // cheap lookups backing the ETags, no entity is loaded
+    public Optional<Long> findTodoVersion(Long id, Long userId){
+        return todoRepository.findVersionByIdAndUserId(id, userId);
+    }
+
+    public long findTodosVersion(Long userId){
+        return userRepository.findTodosVersionById(userId)
+                .orElse(0L);
+    }
+
+    public TodoEntity findTodoById(Long id, Long userId){
+        long start = System.nanoTime();
+        try {
+            return findOwnedTodo(id, userId);
+        } finally {
+            record(findByIdTimer, start);
+        }
     }
 
-    public void deleteTodoById(Long id, UserEntity user) {
-        TodoEntity todo = findTodoById(id, user);
-        todoRepository.delete(todo);
+    // Update and delete are single statements that check the owner (and the If-Match version) as
+    // they write, see TodoRepositoryImpl. Only a failed update reads again, to tell 412 from 404.
+    @Transactional
+    public void deleteTodoById(Long id, Long userId) {
+        long start = System.nanoTime();
+        try {
+            if (todoRepository.deleteOwned(id, userId) == 0) {
+                throw NotFoundId.INSTANCE;
+            }
+
+            userRepository.incrementTodosVersion(userId);
+        } finally {
+            record(deleteTimer, start);
+        }
     }
 
-    public TodoEntity updateTodoById(Long id, RequestUpdateTodoByIdDto req, UserEntity user){
-        TodoEntity todo = findTodoById(id, user);
+    // expectedVersion comes from If-Match, null skips the optimistic check
+    @Transactional
+    public TodoEntity updateTodoById(Long id, RequestUpdateTodoByIdDto req, Long expectedVersion, Long userId){
+        long start = System.nanoTime();
+        try {
+            if (todoRepository.updateOwned(id, userId, req, expectedVersion) == 0) {
+                throw expectedVersion != null && todoRepository.findVersionByIdAndUserId(id, userId).isPresent()
+                        ? PreconditionFailedException.INSTANCE
+                        : NotFoundId.INSTANCE;
+            }
+
+            userRepository.incrementTodosVersion(userId);
+
+            // the row is locked by the update until commit, so this reads what was just written
+            return todoRepository.findById(id)
+                    .orElseThrow(() -> NotFoundId.INSTANCE);
+        } finally {
+            record(updateTimer, start);
+        }
+    }
 
-        if (req.name() != null) todo.setName(req.name());
-        if (req.description() != null) todo.setDescription(req.description());
-        if (req.status() != null) todo.setStatus(req.status());
+    private TodoEntity findOwnedTodo(Long id, Long userId) {
+        TodoEntity todo = todoRepository.findById(id)
+                .orElseThrow(() -> NotFoundId.INSTANCE);
 
-        return todoRepository.save(todo);
+        if (!todo.getUser().getId().equals(userId)) {
+            throw NotFoundId.INSTANCE;
+        }
+        return todo;
     }
 
 }
@@ -0,0 +1,96 @@
+package br.com.medeiros.api.todo.v1.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.TreeMap;
+
+import org.springframework.util.MultiValueMap;
+
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.PreconditionFailedException;
+
+public final class ETags {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private ETags() {
+    }
+
+    // without a variant the tag names a version and nothing else, it is only good for If-Match
+    public static String forTodo(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // each media type and field set is a different body, so each gets its own tag
+    public static String forTodo(Long id, long version, String variant) {
+        return "\"" + id + "-" + version + "." + variant + "\"";
+    }
+
+    // the query is part of the tag, each filter/page/field set of the list is its own representation
+    public static String forList(Long userId, long todosVersion, String variant, MultiValueMap<String, String> query) {
+        return "\"l" + userId + "-" + todosVersion + "." + variant + "." + digest(query) + "\"";
+    }
+
+    // the tag of the gzip encoded body, see GzipETagFilter
+    public static String gzip(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        String gzip = gzip(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag) || tag.equals(gzip) || tag.equals("W/" + gzip)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match on a single todo: null means no version check, anything that is not
+    // a tag of this todo can never match and fails the precondition. Any variant
+    // names the same version, so the one the client happened to read is enough
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.strip().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.strip();
+        String prefix = "\"" + id + "-";
+
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw PreconditionFailedException.INSTANCE;
+        }
+
+        String version = tag.substring(prefix.length(), tag.length() - 1);
+        if (version.endsWith(GZIP_SUFFIX)) {
+            version = version.substring(0, version.length() - GZIP_SUFFIX.length());
+        }
+        int variant = version.indexOf('.');
+
+        try {
+            return Long.valueOf(variant < 0 ? version : version.substring(0, variant));
+        } catch (NumberFormatException e) {
+            throw PreconditionFailedException.INSTANCE;
+        }
+    }
+
+    // parameters sorted by name, so the same query written in another order gets the same tag
+    private static String digest(MultiValueMap<String, String> query) {
+        var canonical = new StringBuilder();
+        new TreeMap<>(query).forEach((name, values) -> values.forEach(value ->
+                canonical.append(name).append('=').append(value == null ? "" : value).append('&')));
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,4 +4,6 @@ public class MediaType {
     public static final String APPLICATION_YAML = "application/x-yaml";
     public static final String APPLICATION_JSON = "application/json";
     public static final String APPLICATION_XML = "application/xml";
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
 }
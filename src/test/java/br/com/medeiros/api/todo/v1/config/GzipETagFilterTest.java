@@ -0,0 +1,62 @@
+package br.com.medeiros.api.todo.v1.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Gzip ETag Filter")
+class GzipETagFilterTest {
+
+    private final GzipETagFilter filter = new GzipETagFilter(1024, List.of(MimeTypeUtils.APPLICATION_JSON));
+
+    private MockHttpServletResponse writeWithWriter(String body) throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/todos/v1/1");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        var response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            var http = (HttpServletResponse) res;
+            http.setHeader(HttpHeaders.ETAG, "\"1-0.json.all\"");
+            http.setContentType("application/json;charset=UTF-8");
+            http.getWriter().write(body);
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should compress a body written through the writer and tag it as gzip")
+    void shouldCompressWriterBody() throws Exception {
+        var body = "{\"name\":\"" + "a".repeat(2048) + "\"}";
+
+        var response = writeWithWriter(body);
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"1-0.json.all-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(body, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Should send a writer body below the minimum size as is")
+    void shouldNotCompressSmallWriterBody() throws Exception {
+        var response = writeWithWriter("{\"name\":\"a\"}");
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("\"1-0.json.all-gzip\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals("{\"name\":\"a\"}", response.getContentAsString());
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.medeiros.api.todo.v1.controllers.auth;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static br.com.medeiros.api.todo.v1.datasource.QueryCounts.assertStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Auth query counts")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.datasource.instrumentation.server-timing=true")
+class AuthQueryCountTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> register(String username) {
+        return rest.postForEntity("/api/todos/v1/auth/register",
+                Map.of("username", username, "password", "password123", "passwordConfirmation", "password123"),
+                Map.class);
+    }
+
+    @Test
+    @DisplayName("Register looks the username up and inserts the user")
+    void register() {
+        var response = register("count-register");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(2, response);
+    }
+
+    @Test
+    @DisplayName("Login reads the user once")
+    void login() {
+        register("count-login");
+
+        var response = rest.postForEntity("/api/todos/v1/auth/login",
+                Map.of("username", "count-login", "password", "password123"), Map.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(1, response);
+    }
+
+    @Test
+    @DisplayName("Logout revokes the tokens without touching the database")
+    void logout() {
+        var token = (String) register("count-logout").getBody().get("token");
+        var headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+
+        var response = rest.exchange("/api/todos/v1/auth/logout", HttpMethod.POST, new HttpEntity<>(headers), Void.class);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertStatements(0, response);
+    }
+}
@@ -0,0 +1,153 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo conditional requests")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"server.compression.enabled=true", "server.compression.min-response-size=1KB"})
+class TodoConditionalRequestTest {
+
+    private static final String TODOS = "/api/todos/v1";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    private String token;
+
+    @BeforeEach
+    void registerUser() {
+        var username = "etag-" + UUID.randomUUID().toString().substring(0, 8);
+        var response = rest.postForEntity(TODOS + "/auth/register",
+                Map.of("username", username, "password", "password123", "passwordConfirmation", "password123"),
+                Map.class);
+
+        token = (String) response.getBody().get("token");
+    }
+
+    private ResponseEntity<byte[]> get(String path, MediaType accept, String ifNoneMatch) {
+        return get(path, accept, ifNoneMatch, null);
+    }
+
+    private ResponseEntity<byte[]> get(String path, MediaType accept, String ifNoneMatch, String acceptEncoding) {
+        var headers = new HttpHeaders();
+        if (acceptEncoding != null) {
+            headers.set(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        headers.setBearerAuth(token);
+        headers.setAccept(List.of(accept));
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return rest.exchange(TODOS + path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private Long create(String name) {
+        var headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        var response = rest.exchange(TODOS, HttpMethod.POST, new HttpEntity<>(Map.of("name", name), headers), Map.class);
+        return ((Number) response.getBody().get("id")).longValue();
+    }
+
+    @Test
+    @DisplayName("Find by id gives every media type and field set its own tag")
+    void findByIdTagPerRepresentation() {
+        var id = create("first");
+
+        var json = get("/" + id, MediaType.APPLICATION_JSON, null).getHeaders().getETag();
+        var xml = get("/" + id, MediaType.APPLICATION_XML, null).getHeaders().getETag();
+        var names = get("/" + id + "?fields=name", MediaType.APPLICATION_JSON, null).getHeaders().getETag();
+
+        assertNotEquals(json, xml);
+        assertNotEquals(json, names);
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/" + id, MediaType.APPLICATION_JSON, json).getStatusCode());
+        assertEquals(HttpStatus.OK, get("/" + id, MediaType.APPLICATION_XML, json).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Find all gives every media type and query its own tag, whatever the parameter order")
+    void findAllTagPerRepresentation() {
+        create("first");
+
+        var json = get("?limit=10&sort=createdAt,desc", MediaType.APPLICATION_JSON, null).getHeaders().getETag();
+        var reordered = get("?sort=createdAt,desc&limit=10", MediaType.APPLICATION_JSON, null).getHeaders().getETag();
+        var xml = get("?limit=10&sort=createdAt,desc", MediaType.APPLICATION_XML, null).getHeaders().getETag();
+        var other = get("?limit=11&sort=createdAt,desc", MediaType.APPLICATION_JSON, null).getHeaders().getETag();
+
+        assertEquals(json, reordered);
+        assertNotEquals(json, xml);
+        assertNotEquals(json, other);
+        assertEquals(HttpStatus.OK, get("?limit=10&sort=createdAt,desc", MediaType.APPLICATION_XML, json).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Find all rejects a bad page before it answers 304")
+    void findAllValidatesBeforeNotModified() {
+        create("first");
+
+        assertEquals(HttpStatus.BAD_REQUEST, get("?limit=0", MediaType.APPLICATION_JSON, "*").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, get("?after=nope", MediaType.APPLICATION_JSON, "*").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Find all gzips a large list and keeps a strong tag per encoding")
+    void findAllGzipsLargeList() throws IOException {
+        for (int i = 0; i < 20; i++) {
+            create("a todo with a name long enough to make the list big " + i);
+        }
+
+        var gzip = get("", MediaType.APPLICATION_JSON, null, "gzip");
+        var identity = get("", MediaType.APPLICATION_JSON, null, null);
+        var tag = gzip.getHeaders().getETag();
+
+        assertEquals(HttpStatus.OK, gzip.getStatusCode());
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(gzip.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertFalse(tag.startsWith("W/"));
+        assertNotEquals(identity.getHeaders().getETag(), tag);
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(gzip.getBody()))) {
+            assertArrayEquals(identity.getBody(), body.readAllBytes());
+        }
+
+        var notModified = get("", MediaType.APPLICATION_JSON, tag, "gzip");
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(tag, notModified.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Update accepts the tag of a gzipped response in If-Match")
+    void updateAcceptsGzipTag() {
+        var id = create("first");
+        var tag = get("/" + id, MediaType.APPLICATION_JSON, null, "gzip").getHeaders().getETag();
+
+        var headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setIfMatch(tag);
+        var response = rest.exchange(TODOS + "/" + id, HttpMethod.PUT, new HttpEntity<>(Map.of("name", "renamed"), headers), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
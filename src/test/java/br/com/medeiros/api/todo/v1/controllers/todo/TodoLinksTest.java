@@ -0,0 +1,59 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.medeiros.api.todo.v1.enums.Role;
+import br.com.medeiros.api.todo.v1.security.AuthenticatedUser;
+
+@DisplayName("Todo Links")
+class TodoLinksTest {
+
+    private final TodoLinks todoLinks = new TodoLinks();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AuthenticatedUser user = new AuthenticatedUser(1L, "user_name", Role.USER);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "http, localhost, 80, ''",
+            "http, localhost, 8080, ''",
+            "https, api.example.com, 443, /todo"
+    })
+    @DisplayName("Should build exactly the hrefs linkTo(methodOn(...)) builds")
+    void shouldMatchLinkBuilder(String scheme, String host, int port, String contextPath) throws Exception {
+        var request = new MockHttpServletRequest("GET", contextPath + "/api/todos/v1/42");
+        request.setScheme(scheme);
+        request.setServerName(host);
+        request.setServerPort(port);
+        request.setContextPath(contextPath);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        var links = todoLinks.forCurrentRequest();
+        Long id = 42L;
+
+        assertEquals(linkTo(methodOn(TodoCreate.class).createTodo(null, user, null)).toString(), links.create());
+        assertEquals(linkTo(TodoFindAll.class).toString(), links.findAll());
+        assertEquals(linkTo(methodOn(TodoFindById.class).findById(id, null, user, null)).toString(), links.findById(id));
+        assertEquals(linkTo(methodOn(TodoUpdateById.class).updateTodoById(id, null, null, user, null)).toString(), links.updateById(id));
+        assertEquals(linkTo(methodOn(TodoDeleteById.class).deleteById(id, user)).toString(), links.deleteById(id));
+        // affordances are not rendered, only compare what ends up in the payload
+        assertEquals(mapper.writeValueAsString(linkTo(methodOn(TodoFindById.class).findById(id, null, user, null)).withSelfRel()),
+                mapper.writeValueAsString(links.self(id)));
+    }
+}
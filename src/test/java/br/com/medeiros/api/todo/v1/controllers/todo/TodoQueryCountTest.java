@@ -0,0 +1,220 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static br.com.medeiros.api.todo.v1.datasource.QueryCounts.assertStatements;
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// /search is left out: MATCH ... AGAINST only runs on MySQL
+@DisplayName("Todo query counts")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.datasource.instrumentation.server-timing=true")
+class TodoQueryCountTest {
+
+    private static final String TODOS = "/api/todos/v1";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private HttpHeaders headers;
+
+    @BeforeEach
+    void registerUser() {
+        var username = "count-" + UUID.randomUUID().toString().substring(0, 8);
+        var response = rest.postForEntity(TODOS + "/auth/register",
+                Map.of("username", username, "password", "password123", "passwordConfirmation", "password123"),
+                Map.class);
+
+        headers = new HttpHeaders();
+        headers.setBearerAuth((String) response.getBody().get("token"));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+    }
+
+    private <T> ResponseEntity<T> exchange(HttpMethod method, String path, Object body, Class<T> type) {
+        return rest.exchange(TODOS + path, method, new HttpEntity<>(body, headers), type);
+    }
+
+    private Long create(String name) {
+        var response = exchange(HttpMethod.POST, "", Map.of("name", name), Map.class);
+        return ((Number) response.getBody().get("id")).longValue();
+    }
+
+    @Test
+    @DisplayName("Create inserts the todo and bumps the user's list version")
+    void create() {
+        var response = exchange(HttpMethod.POST, "", Map.of("name", "first"), Map.class);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertStatements(2, response);
+    }
+
+    @Test
+    @DisplayName("Find all reads the list version and one page")
+    void findAll() {
+        create("first");
+        create("second");
+
+        var response = exchange(HttpMethod.GET, "", null, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(2, response);
+    }
+
+    // identity inserts are not put in the second-level cache, the first read of a new todo loads it
+    private Long createCached(String name) {
+        var id = create(name);
+        exchange(HttpMethod.GET, "/" + id, null, String.class);
+        return id;
+    }
+
+    @Test
+    @DisplayName("Find by id loads a new todo once, then serves it from the second-level cache")
+    void findById() {
+        var id = create("first");
+
+        var first = exchange(HttpMethod.GET, "/" + id, null, String.class);
+        var second = exchange(HttpMethod.GET, "/" + id, null, String.class);
+
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertStatements(1, first);
+        assertStatements(0, second);
+    }
+
+    @Test
+    @DisplayName("Update by id writes the owned todo in one statement, bumps the list version and reads it back")
+    void updateById() {
+        var id = createCached("first");
+
+        var response = exchange(HttpMethod.PUT, "/" + id, Map.of("name", "renamed"), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(3, response);
+    }
+
+    @Test
+    @DisplayName("Update by id keeps the changed todo out of the cache until it is read again")
+    void findByIdAfterUpdate() {
+        var id = createCached("first");
+        exchange(HttpMethod.PUT, "/" + id, Map.of("name", "renamed"), String.class);
+
+        var first = exchange(HttpMethod.GET, "/" + id, null, Map.class);
+        var second = exchange(HttpMethod.GET, "/" + id, null, Map.class);
+
+        assertEquals("renamed", first.getBody().get("name"));
+        assertStatements(1, first);
+        assertStatements(0, second);
+    }
+
+    @Test
+    @DisplayName("Writes to one todo leave the other cached todos in place")
+    void findByIdAfterOtherWrites() {
+        var updated = createCached("first");
+        var deleted = createCached("second");
+        var untouched = createCached("third");
+        exchange(HttpMethod.PUT, "/" + updated, Map.of("name", "renamed"), String.class);
+        exchange(HttpMethod.DELETE, "/" + deleted, null, Void.class);
+        exchange(HttpMethod.POST, "/batch", List.of(Map.of("name", "fourth")), String.class);
+
+        var response = exchange(HttpMethod.GET, "/" + untouched, null, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(0, response);
+    }
+
+    @Test
+    @DisplayName("Delete by id removes the owned todo in one statement and bumps the list version")
+    void deleteById() {
+        var id = createCached("first");
+
+        var response = exchange(HttpMethod.DELETE, "/" + id, null, Void.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(2, response);
+    }
+
+    @Test
+    @DisplayName("Batch create inserts every todo in one JDBC batch")
+    void batchCreate() {
+        var response = exchange(HttpMethod.POST, "/batch",
+                List.of(Map.of("name", "first"), Map.of("name", "second"), Map.of("name", "third")), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(2, response);
+    }
+
+    @Test
+    @DisplayName("Operations keep a changed todo out of the cache until it is read again")
+    void findByIdAfterOperations() {
+        var id = createCached("first");
+        exchange(HttpMethod.POST, "/operations", Map.of("mode", "ATOMIC", "operations", List.of(
+                Map.of("type", "UPDATE", "id", id, "update", Map.of("name", "renamed")))), String.class);
+
+        var first = exchange(HttpMethod.GET, "/" + id, null, Map.class);
+        var second = exchange(HttpMethod.GET, "/" + id, null, Map.class);
+
+        assertEquals("renamed", first.getBody().get("name"));
+        assertEquals("renamed", second.getBody().get("name"));
+        assertStatements(1, first);
+        assertStatements(0, second);
+    }
+
+    // the export reads its rows after the headers are sent, so its count is taken from the route's
+    // db.request.statements summary, which is recorded on the async dispatch once the body is written
+    @Test
+    @DisplayName("Export streams every todo from one query")
+    void export() {
+        create("first");
+        create("second");
+        create("third");
+        var statements = registry.find("db.request.statements").tag("uri", TODOS + "/export").summary();
+        long before = statements != null ? statements.count() : 0;
+        double total = statements != null ? statements.totalAmount() : 0;
+
+        var response = exchange(HttpMethod.GET, "/export?format=csv", null, String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(4, response.getBody().split("\r\n").length);
+        DistributionSummary summary = await().atMost(Duration.ofSeconds(5)).until(
+                () -> registry.find("db.request.statements").tag("uri", TODOS + "/export").summary(),
+                found -> found != null && found.count() == before + 1);
+        assertEquals(1, summary.totalAmount() - total, "JDBC statements for the request");
+    }
+
+    @Test
+    @DisplayName("Operations lock once and write one JDBC batch per kind")
+    void operations() {
+        var first = create("first");
+        var second = create("second");
+
+        var response = exchange(HttpMethod.POST, "/operations", Map.of("mode", "ATOMIC", "operations", List.of(
+                Map.of("type", "CREATE", "create", Map.of("name", "third")),
+                Map.of("type", "UPDATE", "id", first, "update", Map.of("name", "renamed")),
+                Map.of("type", "DELETE", "id", second))), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertStatements(5, response);
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.medeiros.api.todo.v1.controllers.todo;
+
+import br.com.medeiros.api.todo.v1.config.FullTextIndexConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Validation runs before the query and is checked on any database. MATCH ... AGAINST only runs
+// on MySQL, so results are checked there and the tests on H2 check that the index was skipped.
+@DisplayName("Todo search")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TodoSearchTest {
+
+    private static final String TODOS = "/api/todos/v1";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private HttpHeaders owner;
+    private HttpHeaders other;
+
+    @BeforeEach
+    void registerUsers() {
+        owner = register();
+        other = register();
+    }
+
+    private HttpHeaders register() {
+        var username = "search-" + UUID.randomUUID().toString().substring(0, 8);
+        var response = rest.postForEntity(TODOS + "/auth/register",
+                Map.of("username", username, "password", "password123", "passwordConfirmation", "password123"),
+                Map.class);
+
+        var headers = new HttpHeaders();
+        headers.setBearerAuth((String) response.getBody().get("token"));
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        return headers;
+    }
+
+    private <T> ResponseEntity<T> search(HttpHeaders headers, String query, Class<T> type) {
+        return rest.exchange(TODOS + "/search?" + query, HttpMethod.GET, new HttpEntity<>(headers), type);
+    }
+
+    private Long create(HttpHeaders headers, String name) {
+        var response = rest.exchange(TODOS, HttpMethod.POST, new HttpEntity<>(Map.of("name", name), headers), Map.class);
+        return ((Number) response.getBody().get("id")).longValue();
+    }
+
+    private boolean mySql() throws Exception {
+        return "MySQL".equalsIgnoreCase(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+    }
+
+    @Test
+    @DisplayName("Should reject a blank query")
+    void shouldRejectBlankQuery() {
+        assertEquals(HttpStatus.BAD_REQUEST, search(owner, "q=   ", String.class).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject a query longer than the maximum")
+    void shouldRejectOversizedQuery() {
+        var query = "a".repeat(201);
+
+        assertEquals(HttpStatus.BAD_REQUEST, search(owner, "q=" + query, String.class).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject a limit or offset out of range")
+    void shouldRejectPagingOutOfRange() {
+        assertEquals(HttpStatus.BAD_REQUEST, search(owner, "q=milk&limit=0", String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, search(owner, "q=milk&limit=101", String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, search(owner, "q=milk&offset=-1", String.class).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, search(owner, "q=milk&offset=10001", String.class).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should skip the full-text index when the database is not MySQL")
+    void shouldSkipIndexOffMySql() throws Exception {
+        assumeFalse(mySql(), "the index is created on MySQL");
+
+        Integer indexes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.indexes WHERE LOWER(index_name) = ?",
+                Integer.class, FullTextIndexConfig.INDEX_NAME);
+
+        assertEquals(0, indexes);
+    }
+
+    @Test
+    @DisplayName("Should only return the caller's todos")
+    void shouldScopeResultsToOwner() throws Exception {
+        assumeTrue(mySql(), "MATCH ... AGAINST needs MySQL");
+        var word = "zq" + UUID.randomUUID().toString().replace("-", "").substring(0, 10);
+        var mine = create(owner, word + " groceries");
+        create(other, word + " groceries");
+
+        var response = search(owner, "q=" + word, List.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(mine, ((Number) ((Map<?, ?>) response.getBody().get(0)).get("id")).longValue());
+        assertEquals(HttpStatus.NO_CONTENT, search(owner, "q=nothing" + word, String.class).getStatusCode());
+    }
+}
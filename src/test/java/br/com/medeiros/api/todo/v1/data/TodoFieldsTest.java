@@ -0,0 +1,87 @@
+package br.com.medeiros.api.todo.v1.data;
+
+import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Todo Fields")
+class TodoFieldsTest {
+
+    private static ResponseDto todo() {
+        var todo = new ResponseDto(1L, "name", "a long description", TodoStatus.PENDING, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        todo.addAction("update", "http://localhost/api/todos/v1/1", "PUT");
+        todo.add(Link.of("http://localhost/api/todos/v1/1").withSelfRel());
+        return todo;
+    }
+
+    private static <T extends ObjectMapper> T configure(T mapper) {
+        mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setFilterProvider(TodoFields.DEFAULT_FILTERS);
+        return mapper;
+    }
+
+    @Test
+    @DisplayName("Should write every property when no fields are asked for")
+    void shouldWriteEverythingByDefault() throws Exception {
+        var json = configure(new ObjectMapper()).writeValueAsString(todo());
+
+        assertTrue(json.contains("\"description\""));
+        assertTrue(json.contains("\"actions\""));
+        assertTrue(json.contains("\"links\""));
+        assertSame(TodoFields.ALL, TodoFields.of(null, null));
+    }
+
+    @Test
+    @DisplayName("Should write only the requested fields in JSON, XML and YAML")
+    void shouldWriteOnlyRequestedFields() throws Exception {
+        var fields = TodoFields.of("id,name,status", null);
+
+        for (ObjectMapper mapper : new ObjectMapper[]{configure(new ObjectMapper()), configure(new XmlMapper()), configure(new YAMLMapper())}) {
+            var written = mapper.writer(fields.filters()).writeValueAsString(todo());
+
+            assertTrue(written.contains("name"), mapper.getClass().getSimpleName());
+            assertTrue(written.contains("PENDING"), mapper.getClass().getSimpleName());
+            assertFalse(written.contains("description"), mapper.getClass().getSimpleName());
+            assertFalse(written.contains("createdAt"), mapper.getClass().getSimpleName());
+            assertFalse(written.contains("actions"), mapper.getClass().getSimpleName());
+            assertFalse(written.contains("links"), mapper.getClass().getSimpleName());
+        }
+        assertFalse(fields.includes("description"));
+        assertSame(fields.filters(), fields.filters());
+    }
+
+    @Test
+    @DisplayName("Should add the requested extras to the fields")
+    void shouldIncludeExtras() throws Exception {
+        var json = configure(new ObjectMapper()).writer(TodoFields.of("id", "links").filters()).writeValueAsString(todo());
+
+        assertTrue(json.contains("\"links\""));
+        assertFalse(json.contains("\"actions\""));
+        assertFalse(json.contains("\"name\""));
+
+        var withAllFields = TodoFields.of(null, "actions");
+        assertTrue(withAllFields.includes("description"));
+        assertTrue(withAllFields.includes("actions"));
+        assertFalse(withAllFields.includes("links"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown fields")
+    void shouldRejectUnknownFields() {
+        assertThrows(BadRequestException.class, () -> TodoFields.of("id,user", null));
+        assertThrows(BadRequestException.class, () -> TodoFields.of("", null));
+        assertThrows(BadRequestException.class, () -> TodoFields.of(null, "id"));
+    }
+}
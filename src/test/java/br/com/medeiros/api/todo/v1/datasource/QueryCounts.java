@@ -0,0 +1,33 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Reads the statement count QueryStatsFilter puts in Server-Timing; the application under
+// test needs app.datasource.instrumentation.server-timing=true
+public final class QueryCounts {
+
+    private static final Pattern STATEMENTS = Pattern.compile("desc=\"(\\d+) statements\"");
+
+    private QueryCounts() {
+    }
+
+    public static int statements(ResponseEntity<?> response) {
+        String header = response.getHeaders().getFirst(QueryStatsFilter.SERVER_TIMING);
+        assertNotNull(header, "response has no " + QueryStatsFilter.SERVER_TIMING + " header");
+
+        Matcher matcher = STATEMENTS.matcher(header);
+        assertTrue(matcher.find(), "no statement count in " + header);
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    public static void assertStatements(int expected, ResponseEntity<?> response) {
+        assertEquals(expected, statements(response), "JDBC statements for the request");
+    }
+}
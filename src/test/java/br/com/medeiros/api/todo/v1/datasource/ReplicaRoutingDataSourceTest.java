@@ -0,0 +1,189 @@
+package br.com.medeiros.api.todo.v1.datasource;
+
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Replica Routing DataSource")
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcDataSource primary;
+    private FlakyDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = embedded("primary");
+        replica = new FlakyDataSource(embedded("replica"));
+
+        var tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+        routing = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), tracker, Duration.ofHours(1));
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = RoutingDataSourceConfig.readWriteSplitting(primary, routing, tracker);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    private static JdbcDataSource embedded(String node) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + node + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", node);
+        return dataSource;
+    }
+
+    private String node(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private void authenticate(String username) {
+        var user = new UserEntity(1L, username, "pass", Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void shouldSplitReadsAndWrites() {
+        assertEquals("replica", node(readOnly));
+        assertEquals("primary", node(readWrite));
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary after they write")
+    void shouldReadYourWrites() {
+        authenticate("writer");
+        assertEquals("replica", node(readOnly));
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertEquals("primary", node(readOnly));
+
+        authenticate("someone_else");
+        assertEquals("replica", node(readOnly));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica is down and return once it recovers")
+    void shouldFallBackWhenReplicaIsDown() {
+        replica.down = true;
+        assertEquals("primary", node(readOnly));
+
+        replica.down = false;
+        assertEquals("primary", node(readOnly));
+
+        routing.checkHealth();
+        assertEquals("replica", node(readOnly));
+    }
+
+    @Test
+    @DisplayName("Should skip a replica marked down without asking it for a connection")
+    void shouldSkipReplicaMarkedDown() {
+        replica.down = true;
+        routing.checkHealth();
+        replica.attempts = 0;
+
+        assertEquals("primary", node(readOnly));
+        assertEquals("primary", node(readOnly));
+        assertEquals(0, replica.attempts);
+    }
+
+    @Test
+    @DisplayName("Should start with the replica down when it is unreachable at startup")
+    void shouldStartWithUnreachableReplicaDown() {
+        replica.down = true;
+        var tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+        try (var startingUp = new ReplicaRoutingDataSource(primary, Map.of("replica-0", replica), tracker, Duration.ofHours(1))) {
+            startingUp.afterPropertiesSet();
+            replica.attempts = 0;
+
+            var transactionManager = new DataSourceTransactionManager(
+                    RoutingDataSourceConfig.readWriteSplitting(primary, startingUp, tracker));
+            var jdbc = new JdbcTemplate(transactionManager.getDataSource());
+            var transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+
+            assertEquals("primary", transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class)));
+            assertEquals(0, replica.attempts);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not put every anonymous request on the primary after an anonymous write")
+    void shouldIgnoreAnonymousWriters() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertEquals("replica", node(readOnly));
+    }
+
+    @Test
+    @DisplayName("Should close the replica pools when it is closed")
+    void shouldCloseReplicas() {
+        routing.close();
+
+        assertTrue(replica.closed);
+    }
+
+    private static class FlakyDataSource extends org.springframework.jdbc.datasource.DelegatingDataSource
+            implements AutoCloseable {
+
+        private volatile boolean down;
+        private volatile int attempts;
+        private volatile boolean closed;
+
+        FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            attempts++;
+            if (down) {
+                throw new SQLException("replica is down");
+            }
+            return super.getConnection();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.medeiros.api.todo.v1.exceptions;
+
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NotFoundId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Custom Exceptions")
+class CustomExceptionTest {
+
+    @Test
+    @DisplayName("Should not capture a stack trace")
+    void shouldBeStackless() {
+        var exception = assertThrows(BadRequestException.class, () -> {
+            throw new BadRequestException("bad");
+        });
+
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals("bad", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should keep shared instances unchanged when thrown")
+    void shouldKeepSharedInstancesImmutable() {
+        var shared = NotFoundId.INSTANCE;
+
+        shared.addSuppressed(new RuntimeException("other"));
+        shared.setStackTrace(new RuntimeException().getStackTrace());
+
+        assertEquals(0, shared.getSuppressed().length);
+        assertEquals(0, shared.getStackTrace().length);
+        assertThrows(IllegalStateException.class, () -> shared.initCause(new RuntimeException()));
+        assertEquals(404, shared.getStatus().value());
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.medeiros.api.todo.v1.jwt;
+
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Jwt Util")
+class JwtUtilTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final UserEntity user = new UserEntity(1L, "user_name", "user_pass", Role.USER);
+
+    @Test
+    @DisplayName("Should verify a token once and serve repeated checks from the cache")
+    void shouldCacheVerifiedTokens() {
+        var jwtUtil = new JwtUtil(SECRET, 60, 100);
+        String token = jwtUtil.generateToken(user);
+
+        Claims first = jwtUtil.verify(token);
+
+        assertNotNull(first);
+        assertEquals("user_name", first.getSubject());
+        assertSame(first, jwtUtil.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should carry the user id and role so no user lookup is needed")
+    void shouldCarryIdAndRole() {
+        var jwtUtil = new JwtUtil(SECRET, 60, 100);
+
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(user));
+
+        assertEquals(1L, claims.get(JwtUtil.USER_ID_CLAIM, Long.class));
+        assertEquals("USER", claims.get(JwtUtil.ROLE_CLAIM, String.class));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered and foreign tokens")
+    void shouldRejectTamperedTokens() {
+        var jwtUtil = new JwtUtil(SECRET, 60, 100);
+        String token = jwtUtil.generateToken(user);
+        String foreign = new JwtUtil("fedcba9876543210fedcba9876543210", 60, 100).generateToken(user);
+
+        assertNull(jwtUtil.verify(token.substring(0, token.length() - 2) + "xx"));
+        assertNull(jwtUtil.verify(foreign));
+        assertNull(jwtUtil.verify("not-a-token"));
+    }
+
+    @Test
+    @DisplayName("Should reject expired tokens")
+    void shouldRejectExpiredTokens() {
+        var jwtUtil = new JwtUtil(SECRET, -1, 100);
+
+        assertNull(jwtUtil.verify(jwtUtil.generateToken(user)));
+    }
+}
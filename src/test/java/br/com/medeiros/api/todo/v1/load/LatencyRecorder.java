@@ -0,0 +1,49 @@
+package br.com.medeiros.api.todo.v1.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// one per client thread, so recording never contends; merged once the run is over
+final class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long nanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    static Result merge(String scenario, List<LatencyRecorder> recorders, Duration elapsed) {
+        long[] all = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.latencies, 0, recorder.count))
+                .sorted()
+                .toArray();
+        long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+
+        return new Result(scenario, all.length, errors,
+                all.length / (elapsed.toNanos() / 1e9),
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    record Result(String scenario, long requests, long errors, double throughput,
+                  double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.medeiros.api.todo.v1.load;
+
+import br.com.medeiros.api.todo.TodoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Measures todo GET latency on its own and again while storm clients log in as fast as they
+// are answered, so BCrypt saturating its pool shows up (or not) in the latency of everything else.
+// Logins turned away with 503 once the hashing queue is full count as errors of the storm.
+// Run with: mvn test -Pload -Dtest=LoginStormLoadTest [-Dload.users=20 -Dload.todosPerUser=100
+//   -Dload.clients=50 -Dload.stormClients=200 -Dload.duration=PT20S -Dload.warmup=PT5S -Dload.virtual=false]
+// Results are printed and written to target/load/login-storm.json.
+@Tag("load")
+@DisplayName("Login Storm Load")
+class LoginStormLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 20);
+    private static final int TODOS_PER_USER = Integer.getInteger("load.todosPerUser", 100);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 50);
+    private static final int STORM_CLIENTS = Integer.getInteger("load.stormClients", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT20S"));
+    private static final boolean VIRTUAL = Boolean.getBoolean("load.virtual");
+    private static final int PASSWORD_STRENGTH = Integer.getInteger("load.passwordStrength", 10);
+    private static final long SEED = Long.getLong("load.seed", 42);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should measure todo reads while logins saturate the hashing pool")
+    void shouldMeasureReadsDuringLoginStorm() throws Exception {
+        try (var context = new SpringApplicationBuilder(TodoApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + VIRTUAL,
+                "--spring.datasource.url=jdbc:h2:mem:load-storm;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--app.security.rate-limit.enabled=false",
+                "--app.security.password.strength=" + PASSWORD_STRENGTH,
+                "--logging.level.root=WARN");
+             var http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+
+            var base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/todos/v1";
+            var dataset = new SyntheticDataset(http, base, SEED).seed(USERS, TODOS_PER_USER);
+
+            drive(http, base, dataset, 0, WARMUP);
+            Map<String, LatencyRecorder.Result> results = new LinkedHashMap<>();
+            results.put("get", drive(http, base, dataset, 0, DURATION).get("get"));
+            var storm = drive(http, base, dataset, STORM_CLIENTS, DURATION);
+            results.put("get-storm", storm.get("get"));
+            results.put("login-storm", storm.get("login"));
+
+            report(results);
+
+            assertTrue(results.get("get").requests() > 0, "get made no successful request");
+            assertTrue(results.get("get-storm").requests() > 0, "get made no successful request during the storm");
+            assertTrue(results.get("login-storm").requests() > 0, "the storm made no successful login");
+        }
+    }
+
+    // closed model for both groups: every client sends its next request as soon as the last one answers
+    private Map<String, LatencyRecorder.Result> drive(HttpClient http, String base, SyntheticDataset dataset,
+                                                      int stormClients, Duration duration) {
+        List<LatencyRecorder> gets = new ArrayList<>();
+        List<LatencyRecorder> logins = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS + stormClients; i++) {
+                var recorder = new LatencyRecorder();
+                boolean login = i >= CLIENTS;
+                (login ? logins : gets).add(recorder);
+
+                var random = new Random(SEED * 31 + i);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        var account = dataset.accounts().get(random.nextInt(dataset.accounts().size()));
+                        var request = login ? login(base, account) : get(base, account, random);
+                        long begin = System.nanoTime();
+                        try {
+                            var response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() < 400) {
+                                recorder.record(System.nanoTime() - begin);
+                            } else {
+                                recorder.error();
+                            }
+                        } catch (IOException e) {
+                            recorder.error();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return Map.of("get", LatencyRecorder.merge("get", gets, elapsed),
+                "login", LatencyRecorder.merge("login", logins, elapsed));
+    }
+
+    private static HttpRequest get(String base, SyntheticDataset.Account account, Random random) {
+        return HttpRequest.newBuilder(URI.create(base + "/" + account.any(random)))
+                .header("Authorization", "Bearer " + account.token())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest login(String base, SyntheticDataset.Account account) {
+        var body = "{\"username\":\"" + account.username() + "\",\"password\":\"" + SyntheticDataset.PASSWORD + "\"}";
+        return HttpRequest.newBuilder(URI.create(base + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void report(Map<String, LatencyRecorder.Result> results) throws IOException {
+        System.out.printf("%n%d read clients, %d storm clients, %s, %s threads, %d CPUs%n", CLIENTS, STORM_CLIENTS,
+                DURATION, VIRTUAL ? "virtual" : "platform", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-12s %10s %8s %10s %10s %10s %10s%n", "op", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((name, result) ->
+                System.out.printf("%-12s %10.0f %8d %10.2f %10.2f %10.2f %10.2f%n", name,
+                        result.throughput(), result.errors(), result.p50Ms(), result.p99Ms(), result.p999Ms(), result.maxMs()));
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", USERS);
+        config.put("todosPerUser", TODOS_PER_USER);
+        config.put("clients", CLIENTS);
+        config.put("stormClients", STORM_CLIENTS);
+        config.put("warmup", WARMUP.toString());
+        config.put("duration", DURATION.toString());
+        config.put("threads", VIRTUAL ? "virtual" : "platform");
+        config.put("passwordStrength", PASSWORD_STRENGTH);
+        config.put("seed", SEED);
+        config.put("cpus", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("config", config);
+        document.put("results", results);
+
+        var report = Path.of("target", "load", "login-storm.json");
+        Files.createDirectories(report.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), document);
+    }
+}
@@ -0,0 +1,258 @@
+package br.com.medeiros.api.todo.v1.load;
+
+import br.com.medeiros.api.todo.TodoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Seeds load.users users with load.todosPerUser todos each on embedded H2, then drives a
+// weighted mix of auth and todo requests over HTTP with real JWTs. Everything derives from
+// load.seed, so runs with the same parameters are comparable.
+// Run with: mvn test -Pload -Dtest=MixedLoadTest [-Dload.users=50 -Dload.todosPerUser=200
+//   -Dload.clients=200 -Dload.duration=PT30S -Dload.warmup=PT10S -Dload.virtual=false
+//   -Dload.mix=register=1,login=4,list=25,get=40,create=15,update=10,delete=5]
+// Results are printed and written to target/load/mixed.json.
+@Tag("load")
+@DisplayName("Mixed Load")
+class MixedLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int TODOS_PER_USER = Integer.getInteger("load.todosPerUser", 200);
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT30S"));
+    private static final boolean VIRTUAL = Boolean.getBoolean("load.virtual");
+    private static final int PASSWORD_STRENGTH = Integer.getInteger("load.passwordStrength", 10);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final Map<Operation, Integer> MIX =
+            mix(System.getProperty("load.mix", "register=1,login=4,list=25,get=40,create=15,update=10,delete=5"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong registrations = new AtomicLong();
+
+    enum Operation {
+        REGISTER, LOGIN, LIST, GET, CREATE, UPDATE, DELETE
+    }
+
+    @Test
+    @DisplayName("Should drive the request mix against a seeded dataset")
+    void shouldDriveMixedLoad() throws Exception {
+        try (var context = new SpringApplicationBuilder(TodoApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + VIRTUAL,
+                "--spring.datasource.url=jdbc:h2:mem:load-mixed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--app.security.rate-limit.enabled=false",
+                "--app.security.password.strength=" + PASSWORD_STRENGTH,
+                "--logging.level.root=WARN");
+             var http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+
+            var base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/todos/v1";
+            var dataset = new SyntheticDataset(http, base, SEED).seed(USERS, TODOS_PER_USER);
+            int seededTodos = dataset.todos();
+
+            drive(http, base, dataset, WARMUP);
+            var results = drive(http, base, dataset, DURATION);
+
+            report(dataset, seededTodos, results);
+
+            MIX.forEach((operation, weight) -> {
+                var result = results.get(operation.name().toLowerCase(Locale.ROOT));
+                assertTrue(weight == 0 || result.requests() > 0, operation + " made no successful request");
+            });
+        }
+    }
+
+    // closed model: each client picks its next operation and user as soon as the last answer arrives
+    private Map<String, LatencyRecorder.Result> drive(HttpClient http, String base, SyntheticDataset dataset,
+                                                      Duration duration) {
+        var operations = Operation.values();
+        List<LatencyRecorder[]> recorders = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                var clientRecorders = new LatencyRecorder[operations.length];
+                for (int op = 0; op < operations.length; op++) {
+                    clientRecorders[op] = new LatencyRecorder();
+                }
+                recorders.add(clientRecorders);
+
+                var random = new Random(SEED * 31 + i);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        var account = dataset.accounts().get(random.nextInt(dataset.accounts().size()));
+                        var operation = pick(random);
+                        var recorder = clientRecorders[operation.ordinal()];
+                        try {
+                            execute(http, base, operation, account, random, recorder);
+                        } catch (IOException e) {
+                            recorder.error();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Map<String, LatencyRecorder.Result> results = new LinkedHashMap<>();
+        for (var operation : operations) {
+            var name = operation.name().toLowerCase(Locale.ROOT);
+            results.put(name, LatencyRecorder.merge(name,
+                    recorders.stream().map(client -> client[operation.ordinal()]).toList(), elapsed));
+        }
+        results.put("all", LatencyRecorder.merge("all",
+                recorders.stream().flatMap(client -> List.of(client).stream()).toList(), elapsed));
+        return results;
+    }
+
+    private void execute(HttpClient http, String base, Operation operation, SyntheticDataset.Account account,
+                         Random random, LatencyRecorder recorder) throws IOException, InterruptedException {
+        Long id = switch (operation) {
+            case GET, UPDATE -> account.any(random);
+            case DELETE -> account.remove(random);
+            default -> null;
+        };
+        if (id == null && (operation == Operation.GET || operation == Operation.UPDATE || operation == Operation.DELETE)) {
+            // the user has nothing left, give it a todo instead
+            operation = Operation.CREATE;
+        }
+
+        var request = switch (operation) {
+            case REGISTER -> json(HttpRequest.newBuilder(URI.create(base + "/auth/register")),
+                    credentials("load-new-" + registrations.incrementAndGet(), true));
+            case LOGIN -> json(HttpRequest.newBuilder(URI.create(base + "/auth/login")),
+                    credentials(account.username(), false));
+            case LIST -> authorized(base + "?limit=50", account).GET();
+            case GET -> authorized(base + "/" + id, account).GET();
+            case CREATE -> json(authorized(base, account),
+                    "{\"name\":\"load\",\"description\":\"" + SyntheticDataset.description(random) + "\"}");
+            case UPDATE -> authorized(base + "/" + id, account)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"updated\",\"status\":\"COMPLETED\"}"));
+            case DELETE -> authorized(base + "/" + id, account).DELETE();
+        };
+
+        long begin = System.nanoTime();
+        var response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        long latency = System.nanoTime() - begin;
+
+        if (response.statusCode() >= 400) {
+            recorder.error();
+            return;
+        }
+        recorder.record(latency);
+
+        if (operation == Operation.CREATE) {
+            account.add(objectMapper.readTree(response.body()).get("id").asLong());
+        } else if (operation == Operation.LOGIN) {
+            account.token(objectMapper.readTree(response.body()).get("token").asText());
+        }
+    }
+
+    private static String credentials(String username, boolean confirm) {
+        var password = SyntheticDataset.PASSWORD;
+        return "{\"username\":\"" + username + "\",\"password\":\"" + password + "\""
+                + (confirm ? ",\"passwordConfirmation\":\"" + password + "\"" : "") + "}";
+    }
+
+    private static HttpRequest.Builder authorized(String uri, SyntheticDataset.Account account) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", "Bearer " + account.token())
+                .header("Accept", "application/json");
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder request, String body) {
+        return request.header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static Operation pick(Random random) {
+        int total = MIX.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (var entry : MIX.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("empty mix");
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (var entry : value.split(",")) {
+            var parts = entry.split("=");
+            mix.put(Operation.valueOf(parts[0].strip().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].strip()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix needs at least one positive weight: " + value);
+        }
+        return mix;
+    }
+
+    private void report(SyntheticDataset dataset, int seededTodos, Map<String, LatencyRecorder.Result> results)
+            throws IOException {
+        double seedSeconds = dataset.elapsed().toNanos() / 1e9;
+        System.out.printf("%nSeeded %d users and %d todos in %.1f s (%.0f todos/s)%n",
+                dataset.accounts().size(), seededTodos, seedSeconds, seededTodos / seedSeconds);
+        System.out.printf("%d clients, %s, %s threads, %d CPUs, mix %s%n", CLIENTS, DURATION,
+                VIRTUAL ? "virtual" : "platform", Runtime.getRuntime().availableProcessors(), MIX);
+        System.out.printf("%-9s %10s %8s %10s %10s %10s %10s%n", "op", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.values().forEach(result ->
+                System.out.printf("%-9s %10.0f %8d %10.2f %10.2f %10.2f %10.2f%n", result.scenario(),
+                        result.throughput(), result.errors(), result.p50Ms(), result.p99Ms(), result.p999Ms(), result.maxMs()));
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", USERS);
+        config.put("todosPerUser", TODOS_PER_USER);
+        config.put("clients", CLIENTS);
+        config.put("warmup", WARMUP.toString());
+        config.put("duration", DURATION.toString());
+        config.put("threads", VIRTUAL ? "virtual" : "platform");
+        config.put("passwordStrength", PASSWORD_STRENGTH);
+        config.put("seed", SEED);
+        config.put("mix", MIX);
+        config.put("cpus", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> seeding = new LinkedHashMap<>();
+        seeding.put("users", dataset.accounts().size());
+        seeding.put("todos", seededTodos);
+        seeding.put("seconds", seedSeconds);
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("config", config);
+        document.put("seeding", seeding);
+        document.put("results", results);
+
+        var report = Path.of("target", "load", "mixed.json");
+        Files.createDirectories(report.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), document);
+    }
+}
@@ -0,0 +1,193 @@
+package br.com.medeiros.api.todo.v1.load;
+
+import br.com.medeiros.api.todo.TodoApplication;
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Starts the application in a fresh JVM and times it from launch to the first successful
+// GET /api/todos/v1: with the default configuration, with the prod profile, and with the prod
+// profile plus a CDS archive recorded by a training run, the way the Docker image starts.
+// Modes take turns so drift on the machine spreads over all of them.
+// Run with: mvn test -Pload -Dtest=StartupTimeTest [-Dload.runs=3 -Dload.startupTimeout=PT2M]
+// Results are printed and written to target/load/startup.json, each JVM's output to target/load/startup-*.log.
+@Tag("load")
+@DisplayName("Startup Time")
+class StartupTimeTest {
+
+    private static final int RUNS = Integer.getInteger("load.runs", 3);
+    private static final Duration TIMEOUT = Duration.parse(System.getProperty("load.startupTimeout", "PT2M"));
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Path DIRECTORY = Path.of("target", "load");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String classPath;
+
+    @Test
+    @DisplayName("Should time startup to the first successful request")
+    void shouldTimeStartup() throws Exception {
+        Files.createDirectories(DIRECTORY);
+        var archive = DIRECTORY.resolve("startup.jsa").toAbsolutePath();
+        Files.deleteIfExists(archive);
+        classPath = classPath();
+        train(archive);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("default", List.of());
+        modes.put("prod", List.of("-Dspring.profiles.active=prod"));
+        modes.put("prod-cds", List.of("-Dspring.profiles.active=prod", "-XX:SharedArchiveFile=" + archive));
+
+        Map<String, long[]> millis = new LinkedHashMap<>();
+        modes.keySet().forEach(mode -> millis.put(mode, new long[RUNS]));
+        for (int run = 0; run < RUNS; run++) {
+            for (var mode : modes.entrySet()) {
+                millis.get(mode.getKey())[run] = timeToFirstRequest("startup-" + mode.getKey() + "-" + run, mode.getValue());
+            }
+        }
+
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        System.out.printf("%n%d runs per mode, %d CPUs%n", RUNS, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-9s %10s %10s%n", "mode", "min ms", "median ms");
+        millis.forEach((mode, runs) -> {
+            var sorted = runs.clone();
+            Arrays.sort(sorted);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("minMs", sorted[0]);
+            result.put("medianMs", sorted[RUNS / 2]);
+            result.put("runsMs", runs);
+            results.put(mode, result);
+            System.out.printf("%-9s %10d %10d%n", mode, sorted[0], sorted[RUNS / 2]);
+        });
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("runs", RUNS);
+        document.put("cpus", Runtime.getRuntime().availableProcessors());
+        document.put("java", System.getProperty("java.vm.version"));
+        document.put("results", results);
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(DIRECTORY.resolve("startup.json").toFile(), document);
+    }
+
+    // the context refreshes with the prod profile and the JVM exits, dumping the classes it loaded
+    private void train(Path archive) throws Exception {
+        var process = launch("startup-training", List.of(
+                "-Dspring.profiles.active=prod",
+                "-Dspring.context.exit=onRefresh",
+                "-XX:ArchiveClassesAtExit=" + archive), freePort());
+
+        assertTrue(process.waitFor(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS), "training run timed out");
+        assertEquals(0, process.exitValue(), "training run failed, see target/load/startup-training.log");
+        assertTrue(Files.exists(archive), "training run wrote no archive");
+    }
+
+    private long timeToFirstRequest(String name, List<String> jvmArguments) throws Exception {
+        int port = freePort();
+        // the token only carries claims, so it is valid for the new JVM without a user in its database
+        var token = new JwtUtil(SECRET, 60, 1).generateToken(new UserEntity(1L, "startup", "", Role.USER));
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todos/v1"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        long begin = System.nanoTime();
+        var process = launch(name, jvmArguments, port);
+
+        try (var http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build()) {
+            long deadline = begin + TIMEOUT.toNanos();
+            int status = 0;
+            while (System.nanoTime() < deadline) {
+                assertTrue(process.isAlive(), name + " exited, see target/load/" + name + ".log");
+                try {
+                    status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status < 300) {
+                        return Duration.ofNanos(System.nanoTime() - begin).toMillis();
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            return fail(name + " gave no successful response within " + TIMEOUT + ", last status " + status);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private Process launch(String name, List<String> jvmArguments, int port) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArguments);
+        command.addAll(List.of(
+                "-cp", classPath,
+                TodoApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--jwt.secret=" + SECRET,
+                "--jwt.expiration=60"));
+
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(DIRECTORY.resolve(name + ".log").toFile())
+                .start();
+    }
+
+    // CDS refuses directories on the class path, so the application classes go in a jar next to their
+    // dependencies, like the image's app.jar and lib/. Test classes stay out, configuration comes as
+    // arguments, and devtools, which is never packaged, would restart the context in a plain JVM.
+    private static String classPath() throws Exception {
+        var classes = Path.of(TodoApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        var jar = DIRECTORY.resolve("startup-app.jar").toAbsolutePath();
+
+        try (var output = new JarOutputStream(Files.newOutputStream(jar)); var files = Files.walk(classes)) {
+            // directory entries too, component scanning does not find packages without them
+            for (var file : files.filter(file -> !file.equals(classes)).sorted().toList()) {
+                var name = classes.relativize(file).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(file)) {
+                    output.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    output.putNextEntry(new JarEntry(name));
+                    Files.copy(file, output);
+                }
+                output.closeEntry();
+            }
+        }
+
+        return Stream.concat(Stream.of(jar.toString()), Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                        .filter(entry -> entry.endsWith(".jar") && !entry.contains("spring-boot-devtools")))
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.medeiros.api.todo.v1.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Users and todos generated from a seed, so two runs with the same parameters load the same
+// data. Users go through /auth/register (there is no bulk path for them), todos through
+// /batch in chunks; registrations run a few at a time so the hashing queue never rejects one.
+final class SyntheticDataset {
+
+    static final String PASSWORD = "load-password";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http;
+    private final String base;
+    private final long seed;
+
+    private final List<Account> accounts = new ArrayList<>();
+    private Duration elapsed = Duration.ZERO;
+
+    SyntheticDataset(HttpClient http, String base, long seed) {
+        this.http = http;
+        this.base = base;
+        this.seed = seed;
+    }
+
+    List<Account> accounts() {
+        return accounts;
+    }
+
+    Duration elapsed() {
+        return elapsed;
+    }
+
+    int todos() {
+        return accounts.stream().mapToInt(Account::todos).sum();
+    }
+
+    SyntheticDataset seed(int users, int todosPerUser) throws Exception {
+        long start = System.nanoTime();
+        int parallelism = Math.max(Runtime.getRuntime().availableProcessors(), 2);
+
+        try (var pool = Executors.newFixedThreadPool(parallelism)) {
+            List<Future<Account>> seeded = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                int user = i;
+                seeded.add(pool.submit(() -> seedUser(user, todosPerUser)));
+            }
+            for (var account : seeded) {
+                accounts.add(account.get());
+            }
+        }
+
+        elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return this;
+    }
+
+    private Account seedUser(int user, int todosPerUser) throws IOException, InterruptedException {
+        var account = new Account("load-user-" + user, register("load-user-" + user));
+        var random = new Random(seed + user);
+
+        for (int from = 0; from < todosPerUser; from += BATCH_SIZE) {
+            var todos = objectMapper.createArrayNode();
+            for (int i = from; i < Math.min(from + BATCH_SIZE, todosPerUser); i++) {
+                todos.addObject()
+                        .put("name", "todo " + user + "-" + i)
+                        .put("description", description(random));
+            }
+
+            var response = send(authorized("/batch", account.token())
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(todos.toString())));
+            for (JsonNode result : objectMapper.readTree(response)) {
+                account.add(result.get("id").asLong());
+            }
+        }
+        return account;
+    }
+
+    // most todos have a short description, some none and a few close to the 255 limit
+    static String description(Random random) {
+        int roll = random.nextInt(10);
+        int length = roll < 2 ? 0 : roll < 9 ? 20 + random.nextInt(60) : 200 + random.nextInt(55);
+        var description = new StringBuilder(length);
+        while (description.length() < length) {
+            description.append("lorem ipsum ");
+        }
+        description.setLength(length);
+        return description.toString();
+    }
+
+    String register(String username) throws IOException, InterruptedException {
+        var body = "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD
+                + "\",\"passwordConfirmation\":\"" + PASSWORD + "\"}";
+        return objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(base + "/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)))).get("token").asText();
+    }
+
+    private HttpRequest.Builder authorized(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json");
+    }
+
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        var response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    // a seeded user and the ids of the todos it still has; clients share accounts
+    static final class Account {
+
+        private final String username;
+        private volatile String token;
+        private final List<Long> ids = new ArrayList<>();
+
+        Account(String username, String token) {
+            this.username = username;
+            this.token = token;
+        }
+
+        String username() {
+            return username;
+        }
+
+        String token() {
+            return token;
+        }
+
+        void token(String token) {
+            this.token = token;
+        }
+
+        synchronized int todos() {
+            return ids.size();
+        }
+
+        synchronized void add(long id) {
+            ids.add(id);
+        }
+
+        synchronized Long any(Random random) {
+            return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+        }
+
+        // taken out before the DELETE is sent, so no other client picks it afterwards
+        synchronized Long remove(Random random) {
+            if (ids.isEmpty()) {
+                return null;
+            }
+            int index = random.nextInt(ids.size());
+            long id = ids.get(index);
+            ids.set(index, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.medeiros.api.todo.v1.load;
+
+import br.com.medeiros.api.todo.TodoApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares Tomcat on platform threads with virtual threads for list, get and create.
+// Run with: mvn test -Pload [-Dload.clients=1000 -Dload.duration=PT20S -Dload.warmup=PT5S -Dload.todos=500]
+// Results are printed and written to target/load/thread-modes.json.
+@Tag("load")
+@DisplayName("Thread Mode Load")
+class ThreadModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT20S"));
+    private static final int TODOS = Integer.getInteger("load.todos", 500);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should compare platform and virtual threads under load")
+    void shouldCompareThreadModes() throws Exception {
+        Map<String, List<LatencyRecorder.Result>> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        results.put("virtual", run(true));
+
+        System.out.printf("%n%d clients, %s per scenario, %d CPUs%n", CLIENTS, DURATION, Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-9s %-7s %10s %8s %10s %10s %10s%n", "mode", "op", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms");
+        results.forEach((mode, modeResults) -> modeResults.forEach(result ->
+                System.out.printf("%-9s %-7s %10.0f %8d %10.2f %10.2f %10.2f%n", mode, result.scenario(),
+                        result.throughput(), result.errors(), result.p50Ms(), result.p99Ms(), result.p999Ms())));
+
+        var report = Path.of("target", "load", "thread-modes.json");
+        Files.createDirectories(report.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), Map.of(
+                "clients", CLIENTS,
+                "duration", DURATION.toString(),
+                "cpus", Runtime.getRuntime().availableProcessors(),
+                "results", results));
+
+        results.values().forEach(modeResults -> modeResults.forEach(result ->
+                assertTrue(result.requests() > 0, result.scenario() + " made no successful request")));
+    }
+
+    private List<LatencyRecorder.Result> run(boolean virtual) throws Exception {
+        var mode = virtual ? "virtual" : "platform";
+        try (var context = new SpringApplicationBuilder(TodoApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN");
+             var http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(Executors.newVirtualThreadPerTaskExecutor())
+                     .build()) {
+
+            var base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/todos/v1";
+            var token = register(http, base);
+            var ids = seed(http, base, token);
+
+            Supplier<HttpRequest> list = () -> authorized(base + "?limit=50", token).GET().build();
+            Supplier<HttpRequest> get = () -> authorized(base + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())), token)
+                    .GET().build();
+            Supplier<HttpRequest> create = () -> authorized(base, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"load\",\"description\":\"created by the load test\"}"))
+                    .build();
+
+            List<LatencyRecorder.Result> results = new ArrayList<>();
+            for (var scenario : Map.of("list", list, "get", get, "create", create).entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey()).toList()) {
+                drive(http, scenario.getKey(), scenario.getValue(), WARMUP);
+                results.add(drive(http, scenario.getKey(), scenario.getValue(), DURATION));
+            }
+            return results;
+        }
+    }
+
+    private String register(HttpClient http, String base) throws IOException, InterruptedException {
+        var body = "{\"username\":\"load-user\",\"password\":\"load-password\",\"passwordConfirmation\":\"load-password\"}";
+        var response = http.send(HttpRequest.newBuilder(URI.create(base + "/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private List<Long> seed(HttpClient http, String base, String token) throws IOException, InterruptedException {
+        var todos = objectMapper.createArrayNode();
+        for (int i = 0; i < TODOS; i++) {
+            todos.addObject().put("name", "todo " + i).put("description", "seeded by the load test");
+        }
+        var response = http.send(authorized(base + "/batch", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(todos.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode(), response.body());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode result : objectMapper.readTree(response.body())) {
+            ids.add(result.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private static HttpRequest.Builder authorized(String uri, String token) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json");
+    }
+
+    // every client sends its next request as soon as the previous one answers (closed model)
+    private static LatencyRecorder.Result drive(HttpClient http, String scenario, Supplier<HttpRequest> request,
+                                                Duration duration) {
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                var recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long begin = System.nanoTime();
+                        try {
+                            var response = http.send(request.get(), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() < 400) {
+                                recorder.record(System.nanoTime() - begin);
+                            } else {
+                                recorder.error();
+                            }
+                        } catch (IOException e) {
+                            recorder.error();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        return LatencyRecorder.merge(scenario, recorders, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
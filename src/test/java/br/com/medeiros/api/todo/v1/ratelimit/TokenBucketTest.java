@@ -0,0 +1,81 @@
+package br.com.medeiros.api.todo.v1.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Token Bucket")
+class TokenBucketTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Should allow a burst up to the capacity and then ask to wait")
+    void shouldAllowBurstUpToCapacity() {
+        var bucket = new TokenBucket(3, MINUTE, now::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(MINUTE / 3, bucket.tryAcquire(), 1);
+    }
+
+    @Test
+    @DisplayName("Should refill evenly over the period without exceeding the capacity")
+    void shouldRefillOverTime() {
+        var bucket = new TokenBucket(3, MINUTE, now::get);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+
+        now.addAndGet(MINUTE / 3);
+        assertEquals(0, bucket.tryAcquire());
+        assertNotEquals(0, bucket.tryAcquire());
+
+        now.addAndGet(10 * MINUTE);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire());
+        }
+        assertNotEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should never hand out more tokens than it has under contention")
+    void shouldNotOverGrantConcurrently() throws Exception {
+        var bucket = new TokenBucket(100, MINUTE, now::get);
+        var granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        if (bucket.tryAcquire() == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(100, granted.get());
+    }
+}
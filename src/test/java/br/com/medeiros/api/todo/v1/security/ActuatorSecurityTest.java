@@ -0,0 +1,71 @@
+package br.com.medeiros.api.todo.v1.security;
+
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// tests turn metrics export off, without it there is no prometheus endpoint to protect
+@AutoConfigureObservability(tracing = false)
+@DisplayName("Actuator Security")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.endpoints.web.exposure.include=health,info,metrics,prometheus")
+class ActuatorSecurityTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    // the token only carries claims, the user does not have to exist
+    private ResponseEntity<String> get(String path, Role role) {
+        var headers = new HttpHeaders();
+        if (role != null) {
+            headers.setBearerAuth(jwtUtil.generateToken(new UserEntity(1L, "actuator", "", role)));
+        }
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    @DisplayName("Should serve health without a token")
+    void shouldServeHealthWithoutToken() {
+        assertEquals(HttpStatus.OK, get("/actuator/health", null).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should refuse metrics and prometheus without a token")
+    void shouldRefuseMetricsWithoutToken() {
+        assertEquals(HttpStatus.FORBIDDEN, get("/actuator/metrics", null).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, get("/actuator/prometheus", null).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, get("/actuator/info", null).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should refuse prometheus to a user")
+    void shouldRefusePrometheusToUser() {
+        assertEquals(HttpStatus.FORBIDDEN, get("/actuator/prometheus", Role.USER).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should serve prometheus to an admin")
+    void shouldServePrometheusToAdmin() {
+        var response = get("/actuator/prometheus", Role.ADMIN);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("jvm_memory_used_bytes"));
+    }
+}
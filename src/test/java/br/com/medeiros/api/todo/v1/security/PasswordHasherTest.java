@@ -0,0 +1,84 @@
+package br.com.medeiros.api.todo.v1.security;
+
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Password Hasher")
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Executor callbacks = runnable -> new Thread(runnable, "callbacks").start();
+
+    private PasswordHasher hasher(int strength, int threads, int queueCapacity) {
+        return new PasswordHasher(new BCryptPasswordEncoder(strength), registry, callbacks, strength, threads, queueCapacity, Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should hash and verify on the hashing pool")
+    void shouldHashAndVerify() {
+        var hasher = hasher(4, 1, 4);
+
+        String hash = hasher.hash("secret").join();
+
+        assertTrue(hasher.matches("secret", hash).join());
+        assertFalse(hasher.matches("other", hash).join());
+        assertEquals(3, registry.get("password.hashing").timers().stream().mapToLong(t -> t.count()).sum());
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the callbacks off the hashing pool with the caller's security context")
+    void shouldRunCallbacksOffThePool() {
+        var hasher = hasher(4, 1, 4);
+        var context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new TestingAuthenticationToken("caller", null));
+        SecurityContextHolder.setContext(context);
+
+        try {
+            String seen = hasher.hash("secret")
+                    .thenApply(hash -> Thread.currentThread().getName() + " "
+                            + SecurityContextHolder.getContext().getAuthentication().getName())
+                    .join();
+
+            assertEquals("callbacks caller", seen);
+        } finally {
+            SecurityContextHolder.clearContext();
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should ask for a rehash only when the stored cost differs")
+    void shouldDetectCostChanges() {
+        var hasher = hasher(4, 1, 4);
+
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        assertTrue(hasher.needsRehash("plain"));
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should fail fast with 503 once the pool and queue are full")
+    void shouldRejectWhenSaturated() {
+        var hasher = hasher(14, 1, 1);
+
+        hasher.hash("first");
+        hasher.hash("second");
+
+        var ex = assertThrows(ServiceUnavailableException.class, () -> hasher.hash("third"));
+        assertEquals(2, ex.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("password.hashing.rejected").counter().count());
+        hasher.shutdown();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.medeiros.api.todo.v1.security;
+
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import br.com.medeiros.api.todo.v1.jwt.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Token Revocations")
+class TokenRevocationsTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final UserEntity user = new UserEntity(1L, "user_name", "user_pass", Role.USER);
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60, 100);
+    private final TokenRevocations revocations = new TokenRevocations(60, 100);
+
+    @Test
+    @DisplayName("Should revoke tokens issued before the logout")
+    void shouldRevokeEarlierTokens() throws InterruptedException {
+        var claims = jwtUtil.verify(jwtUtil.generateToken(user));
+        Thread.sleep(2);
+
+        revocations.revokeAll(1L);
+
+        assertTrue(revocations.isRevoked(1L, JwtUtil.issuedAt(claims)));
+        assertFalse(revocations.isRevoked(2L, JwtUtil.issuedAt(claims)));
+    }
+
+    @Test
+    @DisplayName("Should accept a token issued after the logout within the same second")
+    void shouldAcceptLoginInTheSameSecond() throws InterruptedException {
+        revocations.revokeAll(1L);
+        Thread.sleep(2);
+
+        var claims = jwtUtil.verify(jwtUtil.generateToken(user));
+
+        assertFalse(revocations.isRevoked(1L, JwtUtil.issuedAt(claims)));
+    }
+}
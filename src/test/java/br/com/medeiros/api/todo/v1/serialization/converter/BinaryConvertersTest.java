@@ -0,0 +1,47 @@
+package br.com.medeiros.api.todo.v1.serialization.converter;
+
+import br.com.medeiros.api.todo.v1.data.ResponseDto;
+import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.hateoas.Link;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Binary Converters")
+class BinaryConvertersTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/cbor", "application/x-jackson-smile"})
+    @DisplayName("Should write todos in the binary formats like the text formats")
+    void shouldWriteTodos(String mediaType) throws Exception {
+        AbstractJackson2HttpMessageConverter converter = mediaType.equals("application/cbor")
+                ? new CborJackson2HttpMessageConverter()
+                : new SmileJackson2HttpMessageConverter();
+        var type = MediaType.parseMediaType(mediaType);
+
+        var todo = new ResponseDto(1L, "name", null, TodoStatus.PENDING, LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        todo.add(Link.of("http://localhost/api/todos/v1/1").withSelfRel());
+
+        assertTrue(converter.canWrite(ResponseDto.class, type));
+
+        var output = new MockHttpOutputMessage();
+        converter.write(todo, type, output);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> read = (Map<String, Object>) converter.read(Map.class, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        assertEquals("name", read.get("name"));
+        assertEquals("2024-01-02T03:04:05", read.get("createdAt"));
+        assertFalse(read.containsKey("description"));
+        assertTrue(read.containsKey("links"));
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.medeiros.api.todo.v1.services;
+
+import br.com.medeiros.api.todo.v1.data.BatchItemResult;
+import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+import br.com.medeiros.api.todo.v1.repositories.TodoBatchRepository;
+import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Todo Batch Service")
+class TodoBatchServiceTest {
+
+    @Mock
+    private TodoBatchRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TodoBatchService service;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        service = new TodoBatchService(repository, userRepository, Validation.buildDefaultValidatorFactory().getValidator());
+        user = new UserEntity(1L, "user_name", "user_pass", Role.USER);
+    }
+
+    @Test
+    @DisplayName("Should insert only valid items and report a result per item")
+    void shouldInsertValidItemsAndReportEachOne() {
+
+        var valid1 = new RequestCreateTodoDto("todo_1", "desc");
+        var valid2 = new RequestCreateTodoDto("todo_2", null);
+
+        when(repository.insertAll(List.of(valid1, valid2), 1L)).thenReturn(List.of(10L, 11L));
+
+        List<BatchItemResult> results = service.createTodos(
+                Arrays.asList(valid1, new RequestCreateTodoDto("", "desc"), null, valid2), user.getId());
+
+        assertEquals(4, results.size());
+        assertEquals(BatchItemResult.created(0, 10L), results.get(0));
+        assertEquals(400, results.get(1).status());
+        assertEquals(400, results.get(2).status());
+        assertEquals(BatchItemResult.created(3, 11L), results.get(3));
+        verify(userRepository).incrementTodosVersion(1L);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when every item is invalid")
+    void shouldSkipInsertWhenNothingIsValid() {
+
+        List<BatchItemResult> results = service.createTodos(List.of(new RequestCreateTodoDto(null, null)), user.getId());
+
+        assertEquals(400, results.get(0).status());
+        verify(repository, never()).insertAll(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void shouldRejectEmptyAndOversizedBatches() {
+
+        var tooMany = Collections.nCopies(TodoBatchService.MAX_BATCH_SIZE + 1, new RequestCreateTodoDto("todo", null));
+
+        assertThrows(BadRequestException.class, () -> service.createTodos(List.of(), user.getId()));
+        assertThrows(BadRequestException.class, () -> service.createTodos(tooMany, user.getId()));
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.medeiros.api.todo.v1.services;
+
+import br.com.medeiros.api.todo.v1.entities.TodoEntity;
+import br.com.medeiros.api.todo.v1.entities.UserEntity;
+import br.com.medeiros.api.todo.v1.enums.ExportFormat;
+import br.com.medeiros.api.todo.v1.enums.Role;
+import br.com.medeiros.api.todo.v1.repositories.TodoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Todo Export Service")
+class TodoExportServiceTest {
+
+    @Mock
+    private TodoRepository repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private TodoExportService service;
+
+    private TodoEntity first;
+    private TodoEntity second;
+
+    @BeforeEach
+    void setUp() {
+        service = new TodoExportService(repository, entityManager, new ObjectMapper());
+
+        var user = new UserEntity(1L, "user_name", "user_pass", Role.USER);
+        first = new TodoEntity(1L, "first", "a, \"quoted\" one", user);
+        first.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        second = new TodoEntity(2L, "second", null, user);
+        second.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 6));
+
+        when(repository.streamByUserId(1L)).thenReturn(Stream.of(first, second));
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        var out = new ByteArrayOutputStream();
+        service.exportTodos(1L, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should stream a JSON array and detach every written todo")
+    void shouldStreamJson() throws Exception {
+        assertEquals("[{\"id\":1,\"name\":\"first\",\"description\":\"a, \\\"quoted\\\" one\",\"status\":\"PENDING\",\"createdAt\":\"2024-01-02T03:04:05\"},"
+                + "{\"id\":2,\"name\":\"second\",\"status\":\"PENDING\",\"createdAt\":\"2024-01-02T03:04:06\"}]", export(ExportFormat.JSON));
+
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    @DisplayName("Should stream XML shaped like a List response")
+    void shouldStreamXml() throws Exception {
+        assertEquals("<List><item><id>1</id><name>first</name><description>a, \"quoted\" one</description><status>PENDING</status><createdAt>2024-01-02T03:04:05</createdAt></item>"
+                + "<item><id>2</id><name>second</name><status>PENDING</status><createdAt>2024-01-02T03:04:06</createdAt></item></List>", export(ExportFormat.XML));
+    }
+
+    @Test
+    @DisplayName("Should stream a YAML sequence")
+    void shouldStreamYaml() throws Exception {
+        String yaml = export(ExportFormat.YAML);
+
+        assertTrue(yaml.startsWith("---\n- id: 1\n  name: \"first\""), yaml);
+        assertTrue(yaml.contains("- id: 2\n  name: \"second\"\n  status: \"PENDING\""), yaml);
+    }
+
+    @Test
+    @DisplayName("Should escape CSV fields")
+    void shouldStreamCsv() throws Exception {
+        assertEquals("id,name,description,status,createdAt\r\n"
+                + "1,first,\"a, \"\"quoted\"\" one\",PENDING,2024-01-02T03:04:05\r\n"
+                + "2,second,,PENDING,2024-01-02T03:04:06\r\n", export(ExportFormat.CSV));
+    }
+
+    @Test
+    @DisplayName("Should keep CSV fields that look like formulas as text")
+    void shouldGuardCsvFormulas() throws Exception {
+        first.setName("=HYPERLINK(\"http://evil\")");
+        second.setName("-2+3");
+        second.setDescription("@SUM(A1)");
+
+        assertEquals("id,name,description,status,createdAt\r\n"
+                + "1,\"'=HYPERLINK(\"\"http://evil\"\")\",\"a, \"\"quoted\"\" one\",PENDING,2024-01-02T03:04:05\r\n"
+                + "2,'-2+3,'@SUM(A1),PENDING,2024-01-02T03:04:06\r\n", export(ExportFormat.CSV));
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.medeiros.api.todo.v1.services;
+
+import br.com.medeiros.api.todo.v1.data.BatchItemResult;
+import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
+import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
+import br.com.medeiros.api.todo.v1.data.TodoOperation;
+import br.com.medeiros.api.todo.v1.enums.OperationMode;
+import br.com.medeiros.api.todo.v1.enums.OperationType;
+import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
+import br.com.medeiros.api.todo.v1.repositories.TodoBatchRepository;
+import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Todo Operation Service")
+class TodoOperationServiceTest {
+
+    @Mock
+    private TodoBatchRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TodoOperationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new TodoOperationService(repository, userRepository,
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private static TodoOperation create(String name) {
+        return new TodoOperation(OperationType.CREATE, null, null, new RequestCreateTodoDto(name, null), null);
+    }
+
+    private static TodoOperation update(Long id, String ifMatch) {
+        return new TodoOperation(OperationType.UPDATE, id, ifMatch, null, new RequestUpdateTodoByIdDto(null, null, TodoStatus.COMPLETED));
+    }
+
+    private static TodoOperation delete(Long id) {
+        return new TodoOperation(OperationType.DELETE, id, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Should apply what it can and report every operation in best-effort mode")
+    void shouldApplyBestEffort() {
+        when(repository.lockVersions(1L, Set.of(5L, 6L))).thenReturn(Map.of(5L, 2L));
+        when(repository.insertAll(List.of(new RequestCreateTodoDto("todo", null)), 1L)).thenReturn(List.of(10L));
+
+        var results = service.applyOperations(
+                List.of(create("todo"), update(5L, "\"5-2\""), delete(6L), create("")), OperationMode.BEST_EFFORT, 1L);
+
+        assertEquals(BatchItemResult.created(0, 10L, "\"10-0\""), results.get(0));
+        assertEquals(BatchItemResult.updated(1, 5L, "\"5-3\""), results.get(1));
+        assertEquals(404, results.get(2).status());
+        assertEquals(400, results.get(3).status());
+        verify(repository).updateAll(eq(List.of(5L)), any(), eq(1L));
+        verify(repository, never()).deleteAll(any(), any());
+        verify(userRepository).incrementTodosVersion(1L);
+    }
+
+    @Test
+    @DisplayName("Should apply nothing and point at the failed operation in atomic mode")
+    void shouldRollBackAtomic() {
+        when(repository.lockVersions(1L, Set.of(5L, 6L))).thenReturn(Map.of(5L, 2L, 6L, 1L));
+
+        var results = service.applyOperations(
+                List.of(create("todo"), update(5L, "\"5-1\""), delete(6L)), OperationMode.ATOMIC, 1L);
+
+        assertEquals(412, results.get(1).status());
+        assertEquals(424, results.get(0).status());
+        assertEquals(424, results.get(2).status());
+        verify(repository, never()).insertAll(any(), any());
+        verify(repository, never()).updateAll(any(), any(), any());
+        verify(repository, never()).deleteAll(any(), any());
+        verify(userRepository, never()).incrementTodosVersion(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the order of operations on the same todo")
+    void shouldSplitSegmentsOnRepeatedIds() {
+        when(repository.lockVersions(1L, Set.of(5L))).thenReturn(Map.of(5L, 2L), Map.of());
+
+        var results = service.applyOperations(List.of(delete(5L), update(5L, null)), OperationMode.BEST_EFFORT, 1L);
+
+        assertEquals(BatchItemResult.deleted(0, 5L), results.get(0));
+        assertEquals(404, results.get(1).status());
+        verify(repository, times(2)).lockVersions(1L, Set.of(5L));
+        verify(repository, never()).updateAll(any(), any(), any());
+        verify(repository).deleteAll(List.of(5L), 1L);
+    }
+
+    @Test
+    @DisplayName("Should reject empty requests and operations without an id")
+    void shouldRejectInvalidRequests() {
+        assertThrows(BadRequestException.class, () -> service.applyOperations(List.of(), OperationMode.ATOMIC, 1L));
+
+        var results = service.applyOperations(List.of(delete(null)), OperationMode.ATOMIC, 1L);
+
+        assertEquals(400, results.get(0).status());
+        verifyNoInteractions(repository);
+    }
+}
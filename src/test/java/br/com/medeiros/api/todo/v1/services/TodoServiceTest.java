@@ -1,25 +1,36 @@
 package br.com.medeiros.api.todo.v1.services;
 
 import br.com.medeiros.api.todo.v1.data.RequestCreateTodoDto;
+import br.com.medeiros.api.todo.v1.data.RequestUpdateTodoByIdDto;
+import br.com.medeiros.api.todo.v1.data.TodoCursor;
+import br.com.medeiros.api.todo.v1.data.TodoFilter;
+import br.com.medeiros.api.todo.v1.data.TodoPage;
 import br.com.medeiros.api.todo.v1.entities.TodoEntity;
 import br.com.medeiros.api.todo.v1.entities.UserEntity;
 import br.com.medeiros.api.todo.v1.enums.Role;
 import br.com.medeiros.api.todo.v1.enums.TodoStatus;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.BadRequestException;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NotFoundId;
 import br.com.medeiros.api.todo.v1.exceptions.customExceptions.NullIdException;
+import br.com.medeiros.api.todo.v1.exceptions.customExceptions.PreconditionFailedException;
 import br.com.medeiros.api.todo.v1.repositories.TodoRepository;
+import br.com.medeiros.api.todo.v1.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +40,18 @@ class TodoServiceTest {
     @Mock
     private TodoRepository repository;
 
-    @InjectMocks
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
     private TodoService service;
 
+    @BeforeEach
+    void createService() {
+        service = new TodoService(repository, userRepository, registry);
+    }
+
     @Nested
     @DisplayName("When Create Todo")
     class CreateTodoTest {
@@ -43,6 +63,8 @@ class TodoServiceTest {
         void setUp() {
             user = new UserEntity("valid_user", "valid_pass", Role.USER);
             validRequest = new RequestCreateTodoDto("valid_title", "valid_description");
+
+            when(userRepository.getReferenceById(any())).thenReturn(user);
         }
 
         @Test
@@ -55,7 +77,7 @@ class TodoServiceTest {
                 return todo;
             });
 
-            TodoEntity created = service.createTodo(validRequest, user);
+            TodoEntity created = service.createTodo(validRequest, user.getId());
 
             assertAll("Fields validation", () -> assertEquals("valid_title", created.getName(), "Nome deve vir do DTO"), () -> assertEquals("valid_description", created.getDescription(), "Descrição deve vir do DTO"), () -> assertEquals(TodoStatus.PENDING, created.getStatus(), "Status deve ser PENDING por padrão"), () -> assertEquals(user, created.getUser(), "User deve ser o passado como argumento"));
 
@@ -73,7 +95,7 @@ class TodoServiceTest {
             });
 
 
-            TodoEntity created = service.createTodo(validRequest, user);
+            TodoEntity created = service.createTodo(validRequest, user.getId());
 
 
             assertEquals(TodoStatus.PENDING, created.getStatus());
@@ -86,7 +108,7 @@ class TodoServiceTest {
             when(repository.save(any(TodoEntity.class))).thenThrow(new RuntimeException("Database error"));
 
 
-            assertThrows(RuntimeException.class, () -> service.createTodo(validRequest, user));
+            assertThrows(RuntimeException.class, () -> service.createTodo(validRequest, user.getId()));
 
             verify(repository).save(any(TodoEntity.class));
         }
@@ -98,7 +120,7 @@ class TodoServiceTest {
             when(repository.save(any(TodoEntity.class))).thenReturn(new TodoEntity());
 
 
-            assertThrows(NullIdException.class, () -> service.createTodo(validRequest, user));
+            assertThrows(NullIdException.class, () -> service.createTodo(validRequest, user.getId()));
 
             verify(repository).save(any(TodoEntity.class));
         }
@@ -112,60 +134,183 @@ class TodoServiceTest {
 
             when(repository.save(any(TodoEntity.class))).thenReturn(savedTodo);
 
-            service.createTodo(validRequest, user);
+            service.createTodo(validRequest, user.getId());
 
             verify(repository).save(any(TodoEntity.class));
         }
+
+        @Test
+        @DisplayName("Should bump the user's todos version so cached lists are revalidated")
+        void shouldBumpTodosVersion() {
+
+            user.setId(2L);
+            TodoEntity savedTodo = new TodoEntity();
+            savedTodo.setId(1L);
+
+            when(repository.save(any(TodoEntity.class))).thenReturn(savedTodo);
+
+            service.createTodo(validRequest, user.getId());
+
+            verify(userRepository).incrementTodosVersion(2L);
+        }
     }
 
     @Nested
     @DisplayName("When Find All Todos")
     class FindAllTodoTest {
 
+        private UserEntity user;
+
+        @BeforeEach
+        void setUp() {
+            user = new UserEntity(1L, "user_name", "user_pass", Role.USER);
+        }
+
+        private TodoEntity todo(long id) {
+            TodoEntity todo = new TodoEntity(id, "todo_" + id, "todo_" + id + "_desc", user);
+            todo.setCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0).plusMinutes(id));
+            return todo;
+        }
+
         @Test
-        @DisplayName("Should return todo list")
+        @DisplayName("Should return todo list without next cursor when it fits in one page")
         void ShouldReturnsTodoList() {
 
-            UserEntity user = new UserEntity("user_name", "user_pass", Role.USER);
-            List<TodoEntity> expectedTodos = Arrays.asList(new TodoEntity("todo_1", "Todo_1_desc", user), new TodoEntity("todo_2", "Todo_2_desc", user));
+            List<TodoEntity> expectedTodos = Arrays.asList(todo(1), todo(2));
 
-            when(repository.findByUser(user)).thenReturn(expectedTodos);
+            when(repository.findPage(1L, TodoFilter.NONE, null, TodoService.DEFAULT_PAGE_SIZE + 1, true)).thenReturn(expectedTodos);
 
-            List<TodoEntity> result = service.findAllTodos(user);
+            TodoPage result = service.findAllTodos(user.getId(), TodoFilter.NONE, null, null, true);
 
             assertNotNull(result);
-            assertEquals(2, result.size());
-            assertEquals(expectedTodos, result);
-            verify(repository).findByUser(user);
+            assertEquals(expectedTodos, result.todos());
+            assertNull(result.next());
         }
 
         @Test
         @DisplayName("Should return an empty list")
         void ShouldReturnsEmptyList() {
 
-            UserEntity user = new UserEntity("user_name", "user_pass", Role.USER);
-            when(repository.findByUser(user)).thenReturn(Collections.emptyList());
+            when(repository.findPage(1L, TodoFilter.NONE, null, TodoService.DEFAULT_PAGE_SIZE + 1, true)).thenReturn(Collections.emptyList());
 
-            List<TodoEntity> result = service.findAllTodos(user);
+            TodoPage result = service.findAllTodos(user.getId(), TodoFilter.NONE, null, null, true);
 
             assertNotNull(result);
-            assertTrue(result.isEmpty());
-            verify(repository).findByUser(user);
+            assertTrue(result.todos().isEmpty());
+            assertNull(result.next());
+        }
+
+        @Test
+        @DisplayName("Should trim the extra row and point the cursor at the last returned todo")
+        void ShouldReturnNextCursorWhenMoreRowsExist() {
+
+            when(repository.findPage(1L, TodoFilter.NONE, null, 3, true)).thenReturn(Arrays.asList(todo(1), todo(2), todo(3)));
+
+            TodoPage result = service.findAllTodos(user.getId(), TodoFilter.NONE, 2, null, true);
+
+            assertEquals(2, result.todos().size());
+            assertEquals(TodoCursor.of(todo(2)), result.next());
+        }
+
+        @Test
+        @DisplayName("Should record the returned page size and time the call")
+        void ShouldRecordPageSizeAndTime() {
+
+            when(repository.findPage(1L, TodoFilter.NONE, null, 3, true)).thenReturn(Arrays.asList(todo(1), todo(2), todo(3)));
+
+            service.findAllTodos(user.getId(), TodoFilter.NONE, 2, null, true);
+
+            var listSize = registry.get("todo.list.size").summary();
+            assertEquals(1, listSize.count());
+            assertEquals(2.0, listSize.totalAmount());
+            assertEquals(1, registry.get("todo.service").tag("operation", "findAll").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should seek past the cursor when one is given")
+        void ShouldSeekAfterCursor() {
+
+            TodoEntity last = todo(2);
+            String after = TodoCursor.of(last).encode();
+
+            when(repository.findPage(1L, TodoFilter.NONE, TodoCursor.of(last), 3, true)).thenReturn(List.of(todo(3)));
+
+            TodoPage result = service.findAllTodos(user.getId(), TodoFilter.NONE, 2, after, true);
+
+            assertEquals(1, result.todos().size());
+            assertNull(result.next());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid limits and cursors")
+        void ShouldRejectInvalidInput() {
+
+            assertThrows(BadRequestException.class, () -> service.findAllTodos(user.getId(), TodoFilter.NONE, 0, null, true));
+            assertThrows(BadRequestException.class, () -> service.findAllTodos(user.getId(), TodoFilter.NONE, TodoService.MAX_PAGE_SIZE + 1, null, true));
+            assertThrows(BadRequestException.class, () -> service.findAllTodos(user.getId(), TodoFilter.NONE, null, "not-a-cursor", true));
+        }
+
+        @Test
+        @DisplayName("Should pass the filter through to the repository")
+        void ShouldPassFilterToRepository() {
+
+            var filter = TodoFilter.of(TodoStatus.PENDING, null, null, "createdAt,desc");
+
+            when(repository.findPage(1L, filter, null, TodoService.DEFAULT_PAGE_SIZE + 1, true)).thenReturn(List.of(todo(1)));
+
+            TodoPage result = service.findAllTodos(user.getId(), filter, null, null, true);
+
+            assertTrue(filter.descending());
+            assertEquals(1, result.todos().size());
+        }
+
+        @Test
+        @DisplayName("Should reject unsupported sorts and empty date ranges")
+        void ShouldRejectInvalidFilters() {
+
+            var now = LocalDateTime.now();
+
+            assertThrows(BadRequestException.class, () -> TodoFilter.of(null, null, null, "name,asc"));
+            assertThrows(BadRequestException.class, () -> TodoFilter.of(null, now, now, null));
         }
 
         @Test
         @DisplayName("Should throw an exception if repository throws")
         void ShouldThrowsExceptionIfRepositoryThrows() {
 
-            UserEntity user = new UserEntity("user_name", "user_pass", Role.USER);
-
-            when(repository.findByUser(user)).thenThrow(new RuntimeException("Unexpected error"));
+            when(repository.findPage(any(), any(), any(), anyInt(), anyBoolean())).thenThrow(new RuntimeException("Unexpected error"));
 
             assertThrows(RuntimeException.class, () -> {
-                service.findAllTodos(user);
+                service.findAllTodos(user.getId(), TodoFilter.NONE, null, null, true);
             });
+        }
+    }
+
+    @Nested
+    @DisplayName("When Search Todos")
+    class SearchTodosTest {
+
+        private final UserEntity user = new UserEntity(1L, "user_name", "user_pass", Role.USER);
+
+        @Test
+        @DisplayName("Should search with default paging and a trimmed query")
+        void ShouldSearchWithDefaults() {
+
+            List<TodoEntity> expected = List.of(new TodoEntity(1L, "feed the cat", null, user));
 
-            verify(repository).findByUser(user);
+            when(repository.search(1L, "cat", TodoService.DEFAULT_SEARCH_SIZE, 0)).thenReturn(expected);
+
+            assertEquals(expected, service.searchTodos(user.getId(), "  cat ", null, null));
+        }
+
+        @Test
+        @DisplayName("Should reject blank queries and out of range paging")
+        void ShouldRejectInvalidInput() {
+
+            assertThrows(BadRequestException.class, () -> service.searchTodos(user.getId(), " ", null, null));
+            assertThrows(BadRequestException.class, () -> service.searchTodos(user.getId(), "cat", TodoService.MAX_SEARCH_SIZE + 1, null));
+            assertThrows(BadRequestException.class, () -> service.searchTodos(user.getId(), "cat", null, -1));
+            verify(repository, never()).search(any(), any(), anyInt(), anyInt());
         }
     }
 
@@ -182,7 +327,7 @@ class TodoServiceTest {
             when(repository.findById(any())).thenReturn(Optional.empty());
 
             assertThrows(NotFoundId.class, () -> {
-                service.findTodoById(null, user);
+                service.findTodoById(null, user.getId());
             });
         }
 
@@ -198,7 +343,7 @@ class TodoServiceTest {
 
             when(repository.findById(todoId)).thenReturn(Optional.of(expectedTodo));
 
-            TodoEntity result = service.findTodoById(todoId, user);
+            TodoEntity result = service.findTodoById(todoId, user.getId());
 
             assertEquals(expectedTodo, result);
             verify(repository).findById(todoId);
@@ -216,7 +361,7 @@ class TodoServiceTest {
             when(repository.findById(todoId)).thenReturn(Optional.of(todoFromOtherUser));
 
             assertThrows(NotFoundId.class, () -> {
-                service.findTodoById(todoId, currentUser);
+                service.findTodoById(todoId, currentUser.getId());
             });
 
             verify(repository).findById(todoId);
@@ -233,7 +378,7 @@ class TodoServiceTest {
             when(repository.findById(todoId)).thenThrow(new RuntimeException(errorMessage));
 
             RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-                service.findTodoById(todoId, user);
+                service.findTodoById(todoId, user.getId());
             });
 
             assertEquals(errorMessage, exception.getMessage());
@@ -245,23 +390,102 @@ class TodoServiceTest {
     class DeleteTodoByIdTest {
 
         @Test
-        @DisplayName("Should Delete Todo When Todo exists and User Is Owner")
+        @DisplayName("Should Delete In One Statement That Checks The Owner")
         void ShouldDeleteTodo_WhenTodoExistsAndUserIsOwner() {
 
-            var todoId = 1L;
-            UserEntity user = new UserEntity("username", "pass", Role.USER);
-            user.setId(todoId);
+            when(repository.deleteOwned(1L, 2L)).thenReturn(1);
+
+            service.deleteTodoById(1L, 2L);
 
-            TodoEntity todo = new TodoEntity();
-            todo.setId(todoId);
-            todo.setUser(user);
+            verify(repository, never()).findById(any());
+            verify(userRepository).incrementTodosVersion(2L);
+        }
 
-            when(repository.findById(todoId)).thenReturn(java.util.Optional.of(todo));
+        @Test
+        @DisplayName("Should Throw NotFoundId When No Row Matches Id And Owner")
+        void ShouldThrowNotFoundId_WhenNothingWasDeleted() {
 
-            service.deleteTodoById(todoId, user);
+            when(repository.deleteOwned(1L, 2L)).thenReturn(0);
 
-            verify(repository, times(1)).delete(todo);
+            assertThrows(NotFoundId.class, () -> service.deleteTodoById(1L, 2L));
+            verify(userRepository, never()).incrementTodosVersion(any());
         }
+    }
+
+    @Nested
+    @DisplayName("When Update a Todo By Id")
+    class UpdateTodoByIdTest {
+
+        @Test
+        @DisplayName("Should Update In One Statement And Return The Written Todo")
+        void ShouldUpdateTodo_WhenUserIsOwner() {
+
+            UserEntity user = new UserEntity(2L, "username", "pass", Role.USER);
+            TodoEntity updated = new TodoEntity(1L, "new name", "desc", user);
+            var request = new RequestUpdateTodoByIdDto("new name", null, TodoStatus.COMPLETED);
 
+            when(repository.updateOwned(1L, 2L, request, null)).thenReturn(1);
+            when(repository.findById(1L)).thenReturn(Optional.of(updated));
+
+            TodoEntity result = service.updateTodoById(1L, request, null, 2L);
+
+            assertSame(updated, result);
+            verify(repository, never()).save(any());
+            verify(userRepository).incrementTodosVersion(2L);
+        }
+
+        @Test
+        @DisplayName("Should Pass The If-Match Version To The Statement")
+        void ShouldCheckVersion_WhenIfMatchIsGiven() {
+
+            UserEntity user = new UserEntity(2L, "username", "pass", Role.USER);
+            var request = new RequestUpdateTodoByIdDto("new name", null, null);
+
+            when(repository.updateOwned(1L, 2L, request, 3L)).thenReturn(1);
+            when(repository.findById(1L)).thenReturn(Optional.of(new TodoEntity(1L, "new name", "desc", user)));
+
+            service.updateTodoById(1L, request, 3L, 2L);
+
+            verify(repository, never()).findVersionByIdAndUserId(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should Throw PreconditionFailed When The Owned Todo Has Another Version")
+        void ShouldThrowPreconditionFailed_WhenVersionDoesNotMatch() {
+
+            var request = new RequestUpdateTodoByIdDto("new name", null, null);
+
+            when(repository.updateOwned(1L, 2L, request, 3L)).thenReturn(0);
+            when(repository.findVersionByIdAndUserId(1L, 2L)).thenReturn(Optional.of(4L));
+
+            assertThrows(PreconditionFailedException.class, () -> service.updateTodoById(1L, request, 3L, 2L));
+            verify(repository, never()).findById(any());
+            verify(userRepository, never()).incrementTodosVersion(any());
+        }
+
+        @Test
+        @DisplayName("Should Throw NotFoundId When No Row Matches Id And Owner With If-Match")
+        void ShouldThrowNotFoundId_WhenNothingWasUpdatedWithIfMatch() {
+
+            var request = new RequestUpdateTodoByIdDto("new name", null, null);
+
+            when(repository.updateOwned(1L, 2L, request, 3L)).thenReturn(0);
+            when(repository.findVersionByIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
+
+            assertThrows(NotFoundId.class, () -> service.updateTodoById(1L, request, 3L, 2L));
+        }
+
+        @Test
+        @DisplayName("Should Throw NotFoundId When No Row Matches Id And Owner")
+        void ShouldThrowNotFoundId_WhenNothingWasUpdated() {
+
+            var request = new RequestUpdateTodoByIdDto("new name", null, null);
+
+            when(repository.updateOwned(1L, 2L, request, null)).thenReturn(0);
+
+            assertThrows(NotFoundId.class, () -> service.updateTodoById(1L, request, null, 2L));
+            verify(repository, never()).findVersionByIdAndUserId(any(), any());
+            verify(repository, never()).findById(any());
+        }
     }
-}
\ No newline at end of file
+}